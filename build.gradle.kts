@@ -1,7 +1,9 @@
 plugins {
     java
+    `java-test-fixtures`
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,6 +25,8 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     implementation("org.springframework:spring-tx:6.1.1")
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
@@ -30,17 +34,38 @@ dependencies {
     testImplementation(libs.spring.boot.starter.test)
     testImplementation("org.mockito:mockito-core:5.11.0")
     testImplementation("org.mockito:mockito-junit-jupiter:5.11.0")
+    testImplementation(libs.hdrhistogram)
+    // 지연 없는 테이블 등 테스트와 벤치마크가 함께 쓰는 대체 구현 (src/testFixtures)
+    jmhImplementation(testFixtures(project))
 }
 
 // about source and compilation
+// 가상 스레드 모드를 쓰려면 -PjavaVersion=21 로 빌드 (기본 17)
+// 컴파일, 테스트, bootRun 모두 해당 버전의 JDK(toolchain)로 실행
+val javaVersion = (findProperty("javaVersion") ?: "17").toString()
+
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(javaVersion))
+    }
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
     toolVersion = "0.8.7"
 }
 
+// benchmark (./gradlew jmh) - 결과는 커밋 간 비교할 수 있도록 JSON으로 저장
+jmh {
+    jmhVersion.set(libs.versions.jmh.core.get())
+    fork.set(1)
+    warmupIterations.set(2)
+    iterations.set(3)
+    timeOnIteration.set("3s")
+    threads.set(4)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
 // bundling tasks
 tasks.getByName("bootJar") {
     enabled = true
@@ -51,5 +76,41 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+}
+
+// 부하 테스트는 시간이 오래 걸리므로 별도 태스크로 실행 (./gradlew loadTest)
+tasks.register<Test>("loadTest") {
+    description = "Runs tests tagged with 'load'."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+// 부하/경합 시뮬레이션 (./gradlew loadSimulation -Pload.distribution=zipf -Pload.threads=64 -Ppoint.write.mode=optimistic)
+// -Pload.* (시나리오)와 -Ppoint.* (서버 설정)을 시스템 프로퍼티로 넘기고, 지연 시간 분포는 build/reports/load 에 저장
+tasks.register<Test>("loadSimulation") {
+    description = "Runs the point load/contention simulation."
+    group = "verification"
+    testClassesDirs = sourceSets["test"].output.classesDirs
+    classpath = sourceSets["test"].runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    filter {
+        includeTestsMatching("*LoadSimulationTest")
+    }
+    systemProperties(project.properties.filterKeys { it.startsWith("load.") || it.startsWith("point.") })
+    outputs.upToDateWhen { false }
+    testLogging {
+        showStandardStreams = true
+    }
 }
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryTable;
+import io.hhplus.tdd.database.InstantPointHistoryTable;
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+//포인트 내역 저장소 추가(insert) 처리량 비교
+//- memory : 지연 없는 메모리 테이블 (InstantPointHistoryTable)
+//- concurrent : 락 없이 동시에 추가하는 메모리 저장소 (ConcurrentPointHistoryTable)
+//- mapped : 메모리 매핑 내역 로그 (세그먼트를 넘길 때만 디스크에 기록)
+//- mapped-synced : 메모리 매핑 내역 로그, MAPPED_SYNC_EVERY 건마다 디스크에 강제로 기록
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointHistoryStoreBenchmark {
+
+    private static final long SEGMENT_BYTES = 64L * 1024 * 1024;
+    private static final int MAPPED_SYNC_EVERY = 256;
+
+    //디스크 기록 주기는 mapped 로그에만 의미가 있으므로 별도 파라미터 대신 저장소 종류로 나눔
+    @Param({"memory", "concurrent", "mapped", "mapped-synced"})
+    public String store;
+
+    private Path directory;
+    private PointHistoryTable pointHistoryTable;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        if (store.startsWith("mapped")) {
+            directory = Files.createTempDirectory("point-history-bench-");
+            pointHistoryTable = new MappedPointHistoryLog(directory, SEGMENT_BYTES,
+                    "mapped-synced".equals(store) ? MAPPED_SYNC_EVERY : 0);
+        } else if ("concurrent".equals(store)) {
+            pointHistoryTable = new ConcurrentPointHistoryTable();
+        } else {
+            pointHistoryTable = new InstantPointHistoryTable();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (pointHistoryTable instanceof MappedPointHistoryLog historyLog) {
+            historyLog.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public PointHistory insert() {
+        long userId = ThreadLocalRandom.current().nextLong(10_000);
+        return pointHistoryTable.insert(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+    }
+}
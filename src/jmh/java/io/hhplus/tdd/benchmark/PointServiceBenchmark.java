@@ -0,0 +1,149 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.InstantPointHistoryTable;
+import io.hhplus.tdd.database.InstantUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//PointService 주요 경로 벤치마크
+//- tables : instant(지연 없는 대체 테이블, 서비스 자체 오버헤드) / throttled(실제 테이블)
+//- users : single(한 사용자에 경합 집중) / spread(여러 사용자에 분산)
+//- strategy : locking(사용자별 락) / optimistic(버전 비교 후 재시도)
+//iteration마다 사용자별 잔액(최대 보유 포인트)과 내역(한 페이지 분량)을 미리 채워 두고,
+//조회는 채워 둔 사용자를, 사용은 채워 둔 잔액을, 충전은 잔액이 없는 별도 사용자를 대상으로 측정한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointServiceBenchmark {
+
+    private static final int SPREAD_USERS = 10_000;
+    //실제 테이블은 호출마다 수백 ms가 걸리므로 미리 채우는 사용자 수를 줄임
+    private static final int THROTTLED_SPREAD_USERS = 16;
+    private static final int HISTORY_PAGE_SIZE = 20;
+    //미리 채우는 내역 한 건의 충전 금액 (HISTORY_PAGE_SIZE건이면 최대 보유 포인트)
+    private static final long SEED_CHARGE = PointPolicy.MAX_POINT / HISTORY_PAGE_SIZE;
+    private static final long AMOUNT = 100L;
+    //사용 벤치마크에서 잔액이 이보다 적어지면 다시 충전 (사용 300번에 한 번 정도 충전이 섞임)
+    private static final long REFILL_BELOW = 20_000L;
+    private static final long REFILL_AMOUNT = 30_000L;
+    //충전 벤치마크에서 한 사용자에게 충전하는 횟수 (최대 보유 포인트를 넘지 않음)
+    private static final long CHARGES_PER_USER = PointPolicy.MAX_POINT / AMOUNT;
+    //충전 벤치마크 대상 사용자 ID 시작 값 (미리 채운 사용자와 겹치지 않음)
+    private static final long FRESH_USER_BASE = 1L << 40;
+
+    @Param({"instant", "throttled"})
+    public String tables;
+
+    @Param({"single", "spread"})
+    public String users;
+
+    @Param({"locking", "optimistic"})
+    public String strategy;
+
+    private PointService pointService;
+    private int userCount;
+    //single 모드 충전 횟수 (모든 스레드가 같은 사용자에게 CHARGES_PER_USER번씩 충전한 뒤 다음 사용자로)
+    private final AtomicLong singleCharges = new AtomicLong();
+
+    //내역이 계속 쌓이므로 iteration마다 새로 만들고 잔액과 내역을 다시 채움
+    @Setup(Level.Iteration)
+    public void setUp() throws InterruptedException {
+        boolean instant = "instant".equals(tables);
+        UserPointTable userPointTable = instant ? new InstantUserPointTable() : new UserPointTable();
+        PointHistoryTable pointHistoryTable = instant ? new InstantPointHistoryTable() : new PointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        PointHistoryJournal historyJournal = new PointHistoryJournal(pointHistoryTable, historyIndex);
+        PointWriteStrategy writeStrategy = "optimistic".equals(strategy)
+                ? new OptimisticPointWriter(userPointTable, historyJournal, 100, 1_000)
+                : new LockingPointWriter(userPointTable, new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE), historyJournal, new LockManager());
+        pointService = new PointService(writeStrategy, historyIndex);
+        userCount = "single".equals(users) ? 1 : instant ? SPREAD_USERS : THROTTLED_SPREAD_USERS;
+        singleCharges.set(0);
+        seed(instant ? 1 : userCount);
+    }
+
+    //사용자마다 SEED_CHARGE씩 HISTORY_PAGE_SIZE번 충전 (잔액은 최대 보유 포인트, 내역은 한 페이지)
+    private void seed(int threads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (long userId = 1; userId <= userCount; userId++) {
+            long id = userId;
+            executor.execute(() -> {
+                for (int i = 0; i < HISTORY_PAGE_SIZE; i++) {
+                    pointService.chargePoints(id, SEED_CHARGE);
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("벤치마크 데이터를 채우지 못했습니다.");
+        }
+    }
+
+    //스레드마다 겹치지 않는 잔액 없는 사용자 범위 (spread 모드 충전 대상)
+    @State(Scope.Thread)
+    public static class FreshUsers {
+        private static final AtomicLong BLOCKS = new AtomicLong();
+        private long base;
+        private long charges;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            base = FRESH_USER_BASE + (BLOCKS.incrementAndGet() << 32);
+            charges = 0;
+        }
+
+        //window명을 차례로 돌며 한 번씩 충전하고, 모두 CHARGES_PER_USER번 충전되면 다음 window명으로
+        private long next(int window) {
+            long i = charges++;
+            return base + (i % window) + (i / (window * CHARGES_PER_USER)) * window;
+        }
+    }
+
+    //잔액이 없는 사용자에게 충전 (사용자마다 CHARGES_PER_USER번까지만 충전하므로 항상 성공 경로)
+    @Benchmark
+    public UserPoint chargePoints(FreshUsers freshUsers) {
+        long userId = "single".equals(users)
+                ? FRESH_USER_BASE + singleCharges.getAndIncrement() / CHARGES_PER_USER
+                : freshUsers.next(userCount);
+        return pointService.chargePoints(userId, AMOUNT);
+    }
+
+    //미리 채운 잔액에서 사용, 잔액이 REFILL_BELOW보다 적어지면 다시 충전
+    @Benchmark
+    public UserPoint usePoints() {
+        long userId = nextUserId();
+        UserPoint userPoint = pointService.usePoints(userId, AMOUNT);
+        if (userPoint.point() < REFILL_BELOW) {
+            try {
+                pointService.chargePoints(userId, REFILL_AMOUNT);
+            } catch (PointRejectedException e) {
+                //다른 스레드가 먼저 채워서 최대 보유 포인트를 넘는 경우
+            }
+        }
+        return userPoint;
+    }
+
+    @Benchmark
+    public UserPoint getUserPoint() {
+        return pointService.getUserPoint(nextUserId());
+    }
+
+    @Benchmark
+    public List<PointHistory> getUserPointHistory() {
+        return pointService.getUserPointHistory(nextUserId(), 0, HISTORY_PAGE_SIZE);
+    }
+
+    //미리 채운 사용자 중 하나
+    private long nextUserId() {
+        return userCount == 1 ? 1L : 1 + ThreadLocalRandom.current().nextLong(userCount);
+    }
+}
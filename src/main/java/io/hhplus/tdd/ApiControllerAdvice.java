@@ -7,6 +7,12 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+    //현재 설정에서 지원하지 않는 기능 (예: 이체를 지원하지 않는 포인트 반영 방식)은 이유를 그대로 알려줌
+    @ExceptionHandler(value = UnsupportedOperationException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupported(UnsupportedOperationException e) {
+        return ResponseEntity.status(501).body(new ErrorResponse("501", e.getMessage()));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
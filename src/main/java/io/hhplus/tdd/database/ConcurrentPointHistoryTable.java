@@ -0,0 +1,138 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 여러 사용자의 내역을 락 없이 동시에 추가할 수 있는 PointHistoryTable 대체 구현 (point.history.store=concurrent).
+ * 기본 PointHistoryTable은 ArrayList와 일반 long 커서를 쓰기 때문에, 서로 다른 사용자의 내역을 동시에 넣으면
+ * ID가 중복되거나 내역이 사라질 수 있다.
+ * - ID는 AtomicLong으로 1부터 빈틈 없이 발급하고, 내역은 ID 위치의 고정 크기 조각(chunk)에 한 번만 쓴다.
+ * - 조각은 필요할 때 CAS로 하나만 만들어지고, 이미 만들어진 조각은 옮기거나 복사하지 않는다.
+ * - 사용자별 조회를 위해 사용자마다 최근 내역부터 이어지는 연결 목록의 머리를 CAS로 바꿔 끼운다.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "point.history.store", havingValue = "concurrent")
+public class ConcurrentPointHistoryTable extends PointHistoryTable {
+
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int MAX_CHUNKS = 1 << 16;
+    private static final long MAX_ID = (long) MAX_CHUNKS * CHUNK_SIZE;
+    //쓰는 중인 칸을 기다릴 때 바쁜 대기 횟수 (넘으면 잠깐씩 쉬면서 기다림)
+    private static final int SPIN_LIMIT = 1_000;
+    private static final long PARK_NANOS = 10_000;
+
+    //다음에 발급할 ID
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicReferenceArray<AtomicReferenceArray<PointHistory>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final ConcurrentHashMap<Long, AtomicReference<Node>> heads = new ConcurrentHashMap<>();
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis){
+        long id = nextId.getAndIncrement();
+        if(id > MAX_ID){
+            throw new IllegalStateException("포인트 내역 저장소 최대 크기를 초과했습니다.");
+        }
+        PointHistory pointHistory = new PointHistory(id, userId, amount, type, updateMillis);
+        chunk(id).set(slot(id), pointHistory);
+
+        AtomicReference<Node> head = heads.computeIfAbsent(userId, key -> new AtomicReference<>());
+        Node current;
+        do{
+            current = head.get();
+        }while(!head.compareAndSet(current, new Node(pointHistory, current)));
+        return pointHistory;
+    }
+
+    //ID 순서
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId){
+        AtomicReference<Node> head = heads.get(userId);
+        if(head == null){
+            return List.of();
+        }
+        List<PointHistory> histories = new ArrayList<>();
+        for(Node node = head.get(); node != null; node = node.next){
+            histories.add(node.history);
+        }
+        //같은 사용자의 내역을 동시에 넣으면 연결 순서와 ID 순서가 다를 수 있으므로 정렬
+        histories.sort(Comparator.comparingLong(PointHistory::id));
+        return histories;
+    }
+
+    //없거나 아직 쓰는 중이면 null
+    public PointHistory selectById(long id){
+        if(id < 1 || id >= nextId.get()){
+            return null;
+        }
+        AtomicReferenceArray<PointHistory> chunk = chunks.get(chunkIndex(id));
+        return chunk == null ? null : chunk.get(slot(id));
+    }
+
+    //전체 내역을 ID 순서대로 하나씩 전달 (호출 시점까지 발급된 ID는 빠짐없이 전달)
+    //ID를 발급받고 아직 칸에 쓰지 않은 내역은 써질 때까지 기다린다. (발급과 쓰기 사이에는 블로킹 호출이 없어서 금방 끝남)
+    //건너뛰면 내보내기나 요약 재계산에서 그 내역이 영영 빠지므로 기다린다.
+    public void forEach(Consumer<PointHistory> action){
+        long lastId = getLastId();
+        for(long id = 1; id <= lastId; id++){
+            action.accept(awaitWritten(id));
+        }
+    }
+
+    //발급된 마지막 ID (저장소 최대 크기를 넘어 실패한 ID는 제외)
+    public long getLastId(){
+        return Math.min(nextId.get() - 1, MAX_ID);
+    }
+
+    private PointHistory awaitWritten(long id){
+        AtomicReferenceArray<PointHistory> chunk = chunk(id);
+        for(int spins = 0; ; spins++){
+            PointHistory history = chunk.get(slot(id));
+            if(history != null){
+                return history;
+            }
+            if(spins < SPIN_LIMIT){
+                Thread.onSpinWait();
+            }else{
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+
+    //ID가 들어갈 조각 (없으면 만들고, 동시에 만들어졌으면 먼저 들어간 것을 사용)
+    private AtomicReferenceArray<PointHistory> chunk(long id){
+        int index = chunkIndex(id);
+        AtomicReferenceArray<PointHistory> chunk = chunks.get(index);
+        if(chunk != null){
+            return chunk;
+        }
+        chunks.compareAndSet(index, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+        return chunks.get(index);
+    }
+
+    private static int chunkIndex(long id){
+        return (int) ((id - 1) >>> CHUNK_SHIFT);
+    }
+
+    private static int slot(long id){
+        return (int) ((id - 1) & (CHUNK_SIZE - 1));
+    }
+
+    private record Node(PointHistory history, Node next) {
+    }
+}
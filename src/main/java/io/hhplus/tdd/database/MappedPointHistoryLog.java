@@ -0,0 +1,334 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 포인트 내역을 로컬 디스크의 append-only 로그에 저장하는 PointHistoryTable 대체 구현 (point.history.store=mapped).
+ * 내역 하나는 40바이트 고정 길이 레코드 (id, userId, amount, updateMillis, type, checksum)이고,
+ * 세그먼트 파일(history-{첫 ID}.log)을 통째로 메모리 매핑해서 쓴다. 세그먼트가 가득 차면 다음 파일로 넘어간다.
+ * - ID는 1부터 빈틈 없이 증가하므로, ID만으로 세그먼트와 위치를 바로 계산한다.
+ * - syncEvery 건마다 디스크에 강제로 기록(fsync)하고, 그 사이에 장애가 나면 마지막 기록 이후 내역은 잃을 수 있다.
+ * - 시작할 때 마지막 세그먼트를 검사해서 온전한 레코드까지를 커서로 삼고, 뒤쪽의 깨진 레코드는 지운다.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "point.history.store", havingValue = "mapped")
+public class MappedPointHistoryLog extends PointHistoryTable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedPointHistoryLog.class);
+
+    public static final int RECORD_BYTES = 40;
+    private static final int USER_ID_OFFSET = 8;
+    private static final int AMOUNT_OFFSET = 16;
+    private static final int MILLIS_OFFSET = 24;
+    private static final int TYPE_OFFSET = 32;
+    private static final int CHECKSUM_OFFSET = 36;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    //0이면 세그먼트를 넘길 때와 종료할 때만 기록
+    private final int syncEvery;
+
+    //추가는 하나씩 직렬화하고, 읽기는 lastId(volatile) 이전 레코드만 보므로 락 없이 수행
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private volatile Segment[] segments;
+    private volatile long lastId;
+    private int unsynced;
+
+    @Autowired
+    public MappedPointHistoryLog(@Value("${point.history.log.directory:data/history}") String directory,
+                                 @Value("${point.history.log.segment-bytes:67108864}") long segmentBytes,
+                                 @Value("${point.history.log.sync-every:256}") int syncEvery){
+        this(Paths.get(directory), segmentBytes, syncEvery);
+    }
+
+    public MappedPointHistoryLog(Path directory, long segmentBytes, int syncEvery){
+        if(segmentBytes < RECORD_BYTES || segmentBytes / RECORD_BYTES > Integer.MAX_VALUE / RECORD_BYTES){
+            throw new IllegalArgumentException("세그먼트 크기가 올바르지 않습니다.");
+        }
+        this.directory = directory;
+        this.syncEvery = syncEvery;
+        try{
+            Files.createDirectories(directory);
+            List<Path> files = segmentFiles();
+            //이미 만들어진 로그는 처음 만들 때의 세그먼트 크기를 따름
+            this.recordsPerSegment = files.isEmpty()
+                    ? (int) (segmentBytes / RECORD_BYTES)
+                    : (int) (Files.size(files.get(0)) / RECORD_BYTES);
+            if(recordsPerSegment != segmentBytes / RECORD_BYTES){
+                log.warn("기존 포인트 내역 로그의 세그먼트 크기({}건)를 사용합니다. directory={}", recordsPerSegment, directory);
+            }
+            this.segments = open(files);
+            this.lastId = recover();
+        }catch (IOException e){
+            throw new IllegalStateException("포인트 내역 로그를 열 수 없습니다. directory=" + directory, e);
+        }
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis){
+        appendLock.lock();
+        try{
+            long id = lastId + 1;
+            Segment segment = segmentForAppend(id);
+            int offset = offsetOf(id);
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.putLong(offset + USER_ID_OFFSET, userId);
+            buffer.putLong(offset + AMOUNT_OFFSET, amount);
+            buffer.putLong(offset + MILLIS_OFFSET, updateMillis);
+            buffer.putInt(offset + TYPE_OFFSET, type.ordinal());
+            buffer.putInt(offset + CHECKSUM_OFFSET, checksum(id, userId, amount, updateMillis, type.ordinal()));
+            //ID를 마지막에 써서, 중간에 멈춘 레코드는 복구할 때 빈 칸으로 보이게 함
+            buffer.putLong(offset, id);
+            lastId = id;
+            if(syncEvery > 0 && ++unsynced >= syncEvery){
+                buffer.force();
+                unsynced = 0;
+            }
+            return new PointHistory(id, userId, amount, type, updateMillis);
+        }catch (IOException e){
+            throw new IllegalStateException("포인트 내역을 저장하지 못했습니다.", e);
+        }finally {
+            appendLock.unlock();
+        }
+    }
+
+    //전체 로그를 훑지만 userId만 먼저 읽고, 일치하는 레코드만 객체로 만든다.
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId){
+        long last = lastId;
+        Segment[] current = segments;
+        List<PointHistory> histories = new ArrayList<>();
+        for(long id = 1; id <= last; id++){
+            ByteBuffer buffer = current[segmentIndex(id)].buffer;
+            int offset = offsetOf(id);
+            if(buffer.getLong(offset + USER_ID_OFFSET) == userId){
+                histories.add(decodeAt(buffer, offset));
+            }
+        }
+        return histories;
+    }
+
+    //없으면 null
+    public PointHistory selectById(long id){
+        if(id < 1 || id > lastId){
+            return null;
+        }
+        return decodeAt(segments[segmentIndex(id)].buffer, offsetOf(id));
+    }
+
+    //fromId ~ toId(포함) 구간을 복사하지 않고 매핑된 메모리의 읽기 전용 view로 반환 (세그먼트마다 하나)
+    //view 안의 n번째 레코드는 decode(view, n)으로 읽는다.
+    public List<ByteBuffer> readRange(long fromId, long toId){
+        long from = Math.max(1, fromId);
+        long to = Math.min(lastId, toId);
+        Segment[] current = segments;
+        List<ByteBuffer> views = new ArrayList<>();
+        while(from <= to){
+            int index = segmentIndex(from);
+            long segmentLastId = (long) (index + 1) * recordsPerSegment;
+            long end = Math.min(to, segmentLastId);
+            int length = (int) (end - from + 1) * RECORD_BYTES;
+            views.add(current[index].buffer.slice(offsetOf(from), length).asReadOnlyBuffer());
+            from = end + 1;
+        }
+        return views;
+    }
+
+    //전체 내역을 ID 순서대로 하나씩 전달 (목록을 만들지 않음)
+    public void forEach(Consumer<PointHistory> action){
+        for(ByteBuffer view : readRange(1, lastId)){
+            int count = view.remaining() / RECORD_BYTES;
+            for(int i = 0; i < count; i++){
+                action.accept(decode(view, i));
+            }
+        }
+    }
+
+    public static PointHistory decode(ByteBuffer view, int index){
+        return decodeAt(view, index * RECORD_BYTES);
+    }
+
+    public long getLastId(){
+        return lastId;
+    }
+
+    public int getSegmentCount(){
+        return segments.length;
+    }
+
+    //아직 디스크에 기록하지 않은 내역을 모두 기록 (이전 세그먼트는 넘길 때 이미 기록됨)
+    public void sync(){
+        appendLock.lock();
+        try{
+            segments[segments.length - 1].buffer.force();
+            unsynced = 0;
+        }finally {
+            appendLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close(){
+        appendLock.lock();
+        try{
+            for(Segment segment : segments){
+                segment.buffer.force();
+                segment.channel.close();
+            }
+        }catch (IOException e){
+            log.error("포인트 내역 로그를 닫는 중 오류가 발생했습니다. directory={}", directory, e);
+        }finally {
+            appendLock.unlock();
+        }
+    }
+
+    private Segment segmentForAppend(long id) throws IOException {
+        int index = segmentIndex(id);
+        Segment[] current = segments;
+        if(index < current.length){
+            return current[index];
+        }
+        //이전 세그먼트는 더 이상 쓰지 않으므로 디스크에 기록하고 다음 세그먼트 생성
+        current[current.length - 1].buffer.force();
+        unsynced = 0;
+        Segment rolled = Segment.create(segmentPath(id), recordsPerSegment);
+        Segment[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = rolled;
+        segments = next;
+        return rolled;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try(Stream<Path> files = Files.list(directory)){
+            return files.filter(path -> path.getFileName().toString().matches("history-\\d{19}\\.log"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Segment[] open(List<Path> files) throws IOException {
+        if(files.isEmpty()){
+            return new Segment[]{Segment.create(segmentPath(1), recordsPerSegment)};
+        }
+        Segment[] opened = new Segment[files.size()];
+        for(int i = 0; i < opened.length; i++){
+            Path expected = segmentPath((long) i * recordsPerSegment + 1);
+            if(!files.get(i).getFileName().equals(expected.getFileName())){
+                throw new IllegalStateException("포인트 내역 로그 세그먼트가 연속되지 않습니다. file=" + files.get(i));
+            }
+            opened[i] = Segment.open(files.get(i), recordsPerSegment);
+        }
+        return opened;
+    }
+
+    //마지막 세그먼트에서 처음부터 ID가 이어지고 checksum이 맞는 레코드까지를 유효한 내역으로 보고,
+    //그 뒤에 남은 레코드는 지워서 다음에 쓸 내역과 섞이지 않게 한다. (이전 세그먼트는 넘길 때 기록을 마쳤으므로 가득 차 있음)
+    private long recover(){
+        int lastIndex = segments.length - 1;
+        MappedByteBuffer buffer = segments[lastIndex].buffer;
+        long firstId = (long) lastIndex * recordsPerSegment + 1;
+        int valid = 0;
+        while(valid < recordsPerSegment && isValid(buffer, valid * RECORD_BYTES, firstId + valid)){
+            valid++;
+        }
+        boolean cleared = false;
+        for(int slot = valid; slot < recordsPerSegment; slot++){
+            int offset = slot * RECORD_BYTES;
+            if(buffer.getLong(offset) != 0 || buffer.getInt(offset + CHECKSUM_OFFSET) != 0){
+                for(int i = 0; i < RECORD_BYTES; i += Long.BYTES){
+                    buffer.putLong(offset + i, 0L);
+                }
+                cleared = true;
+            }
+        }
+        if(cleared){
+            buffer.force();
+            log.warn("포인트 내역 로그 끝의 불완전한 레코드를 정리했습니다. lastId={}", firstId + valid - 1);
+        }
+        return firstId + valid - 1;
+    }
+
+    private static boolean isValid(ByteBuffer buffer, int offset, long expectedId){
+        if(buffer.getLong(offset) != expectedId){
+            return false;
+        }
+        int type = buffer.getInt(offset + TYPE_OFFSET);
+        return type >= 0 && type < TYPES.length
+                && buffer.getInt(offset + CHECKSUM_OFFSET) == checksum(expectedId,
+                        buffer.getLong(offset + USER_ID_OFFSET),
+                        buffer.getLong(offset + AMOUNT_OFFSET),
+                        buffer.getLong(offset + MILLIS_OFFSET),
+                        type);
+    }
+
+    private static PointHistory decodeAt(ByteBuffer buffer, int offset){
+        return new PointHistory(
+                buffer.getLong(offset),
+                buffer.getLong(offset + USER_ID_OFFSET),
+                buffer.getLong(offset + AMOUNT_OFFSET),
+                TYPES[buffer.getInt(offset + TYPE_OFFSET)],
+                buffer.getLong(offset + MILLIS_OFFSET));
+    }
+
+    private static int checksum(long id, long userId, long amount, long updateMillis, int type){
+        long hash = 0x9E3779B97F4A7C15L;
+        for(long value : new long[]{id, userId, amount, updateMillis, type}){
+            hash = (hash ^ value) * 0xBF58476D1CE4E5B9L;
+            hash ^= hash >>> 31;
+        }
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    private int segmentIndex(long id){
+        return (int) ((id - 1) / recordsPerSegment);
+    }
+
+    private int offsetOf(long id){
+        return (int) ((id - 1) % recordsPerSegment) * RECORD_BYTES;
+    }
+
+    private Path segmentPath(long firstId){
+        return directory.resolve(String.format("history-%019d.log", firstId));
+    }
+
+    private record Segment(FileChannel channel, MappedByteBuffer buffer) {
+
+        private static Segment create(Path path, int records) throws IOException {
+            return map(FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE), records);
+        }
+
+        private static Segment open(Path path, int records) throws IOException {
+            return map(FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE), records);
+        }
+
+        private static Segment map(FileChannel channel, int records) throws IOException {
+            return new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) records * RECORD_BYTES));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.hhplus.tdd.database;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 전체 사용자 잔액의 스냅샷 파일 저장소.
+ * 파일(snapshot-{마지막 내역 ID}.snap) 구성 : magic, version, 마지막으로 반영한 내역 ID, 사용자 수,
+ * 사용자별 (id, point, updateMillis), 마지막에 앞부분 전체의 CRC32.
+ * 임시 파일에 다 쓰고 디스크에 기록한 뒤 이름을 바꾸므로, 쓰는 도중 장애가 나도 이전 스냅샷은 그대로 남는다.
+ */
+public class PointSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshotStore.class);
+
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final int VERSION = 1;
+
+    private final Path directory;
+    //보관할 최근 스냅샷 개수 (최신 파일이 깨졌을 때 이전 파일로 복구)
+    private final int retain;
+
+    public PointSnapshotStore(Path directory, int retain){
+        this.directory = directory;
+        this.retain = Math.max(1, retain);
+    }
+
+    public void write(long lastHistoryId, PrimitiveUserPointStore balances) throws IOException {
+        Files.createDirectories(directory);
+        Path target = snapshotPath(lastHistoryId);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)){
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lastHistoryId);
+            out.writeInt(balances.size());
+            IOException[] failure = new IOException[1];
+            balances.forEach((id, point, updateMillis) -> {
+                if(failure[0] != null){
+                    return;
+                }
+                try{
+                    out.writeLong(id);
+                    out.writeLong(point);
+                    out.writeLong(updateMillis);
+                }catch (IOException e){
+                    failure[0] = e;
+                }
+            });
+            if(failure[0] != null){
+                throw failure[0];
+            }
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deleteOld();
+    }
+
+    //읽을 수 있는 가장 최신 스냅샷 (없으면 empty)
+    public Optional<Snapshot> loadLatest(int initialCapacity, boolean offHeap){
+        for(Path path : snapshotFiles()){
+            try{
+                return Optional.of(read(path, initialCapacity, offHeap));
+            }catch (IOException | IllegalStateException e){
+                log.warn("손상된 포인트 스냅샷을 건너뜁니다. file={}", path, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Snapshot read(Path path, int initialCapacity, boolean offHeap) throws IOException {
+        try(InputStream file = Files.newInputStream(path)){
+            CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(file, 1 << 16), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if(in.readInt() != MAGIC || in.readInt() != VERSION){
+                throw new IllegalStateException("포인트 스냅샷 형식이 아닙니다.");
+            }
+            long lastHistoryId = in.readLong();
+            int count = in.readInt();
+            PrimitiveUserPointStore balances = new PrimitiveUserPointStore(Math.max(initialCapacity, count), offHeap);
+            for(int i = 0; i < count; i++){
+                balances.put(in.readLong(), in.readLong(), in.readLong());
+            }
+            long expected = checked.getChecksum().getValue();
+            if(in.readLong() != expected){
+                throw new IllegalStateException("포인트 스냅샷 checksum이 일치하지 않습니다.");
+            }
+            return new Snapshot(lastHistoryId, balances);
+        }
+    }
+
+    //최신순
+    private List<Path> snapshotFiles(){
+        if(!Files.isDirectory(directory)){
+            return List.of();
+        }
+        try(Stream<Path> files = Files.list(directory)){
+            return files.filter(path -> path.getFileName().toString().matches("snapshot-\\d{19}\\.snap"))
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        }catch (IOException e){
+            throw new IllegalStateException("포인트 스냅샷 목록을 읽을 수 없습니다. directory=" + directory, e);
+        }
+    }
+
+    private void deleteOld() throws IOException {
+        List<Path> files = snapshotFiles();
+        for(Path path : files.subList(Math.min(retain, files.size()), files.size())){
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private Path snapshotPath(long lastHistoryId){
+        return directory.resolve(String.format("snapshot-%019d.snap", lastHistoryId));
+    }
+
+    public record Snapshot(long lastHistoryId, PrimitiveUserPointStore balances) {
+    }
+}
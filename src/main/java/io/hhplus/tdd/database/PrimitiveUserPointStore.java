@@ -0,0 +1,308 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * UserPointTable과 같은 selectById / insertOrUpdate 동작을 하는 원시 타입 기반 저장소.
+ * Long 키, UserPoint 객체, 맵 노드 없이 사용자 한 명을 (id, point, updateMillis) 24바이트 슬롯에 저장한다.
+ * - 힙 모드 : long[] 배열 3개
+ * - 오프힙 모드 : 다이렉트 ByteBuffer 조각들 (GC 대상 힙을 늘리지 않음)
+ * 쓰기는 하나씩 직렬화하고, 읽기는 StampedLock 낙관적 읽기로 락 없이 수행한다.
+ */
+public class PrimitiveUserPointStore {
+
+    //빈 슬롯 표시 (이 값은 사용자 ID로 쓸 수 없음)
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final boolean offHeap;
+    private final StampedLock lock = new StampedLock();
+    private Slots slots;
+    private int size;
+
+    public PrimitiveUserPointStore(int initialCapacity, boolean offHeap){
+        this.offHeap = offHeap;
+        this.slots = newSlots(tableSizeFor(initialCapacity));
+    }
+
+    public UserPoint selectById(long id){
+        UserPoint userPoint = find(id);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
+    }
+
+    public UserPoint insertOrUpdate(long id, long amount){
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        put(id, userPoint.point(), userPoint.updateMillis());
+        return userPoint;
+    }
+
+    //저장되어 있지 않으면 null
+    public UserPoint find(long id){
+        checkId(id);
+        long stamp = lock.tryOptimisticRead();
+        UserPoint found = read(slots, id);
+        if(lock.validate(stamp)){
+            return found;
+        }
+        //읽는 도중 쓰기가 있었으면 읽기 락으로 다시 읽음
+        stamp = lock.readLock();
+        try{
+            return read(slots, id);
+        }finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public void put(long id, long point, long updateMillis){
+        checkId(id);
+        long stamp = lock.writeLock();
+        try{
+            //사용률 75%를 넘으면 두 배로 늘림
+            if((size + 1) * 4L > slots.capacity() * 3L){
+                resize();
+            }
+            int slot = slotOf(slots, id);
+            if(slots.key(slot) == EMPTY){
+                size++;
+            }
+            slots.set(slot, id, point, updateMillis);
+        }finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void remove(long id){
+        checkId(id);
+        long stamp = lock.writeLock();
+        try{
+            int mask = slots.capacity() - 1;
+            int hole = slotOf(slots, id);
+            if(slots.key(hole) == EMPTY){
+                return;
+            }
+            //삭제 표시 없이 뒤쪽 항목을 당겨와서 탐사 경로가 끊기지 않게 함 (backward shift)
+            for(int slot = (hole + 1) & mask; slots.key(slot) != EMPTY; slot = (slot + 1) & mask){
+                int home = hash(slots.key(slot)) & mask;
+                if(((slot - home) & mask) >= ((slot - hole) & mask)){
+                    slots.set(hole, slots.key(slot), slots.point(slot), slots.millis(slot));
+                    hole = slot;
+                }
+            }
+            slots.set(hole, EMPTY, 0, 0);
+            size--;
+        }finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    //저장된 모든 사용자를 순서 없이 방문 (방문하는 동안 쓰기는 대기)
+    public void forEach(Visitor visitor){
+        long stamp = lock.readLock();
+        try{
+            for(int slot = 0; slot < slots.capacity(); slot++){
+                long key = slots.key(slot);
+                if(key != EMPTY){
+                    visitor.visit(key, slots.point(slot), slots.millis(slot));
+                }
+            }
+        }finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size(){
+        long stamp = lock.readLock();
+        try{
+            return size;
+        }finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isOffHeap(){
+        return offHeap;
+    }
+
+    //낙관적 읽기 중에는 값이 바뀌고 있을 수 있으므로, 결과는 validate 이후에만 사용
+    private UserPoint read(Slots current, long id){
+        int mask = current.capacity() - 1;
+        for(int slot = hash(id) & mask, probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++){
+            long key = current.key(slot);
+            if(key == id){
+                return new UserPoint(id, current.point(slot), current.millis(slot));
+            }
+            if(key == EMPTY){
+                return null;
+            }
+        }
+        return null;
+    }
+
+    //id가 있는 슬롯, 없으면 들어갈 빈 슬롯 (선형 탐사)
+    private int slotOf(Slots current, long id){
+        int mask = current.capacity() - 1;
+        int slot = hash(id) & mask;
+        while(true){
+            long key = current.key(slot);
+            if(key == id || key == EMPTY){
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void resize(){
+        if(slots.capacity() >= MAX_CAPACITY){
+            throw new IllegalStateException("저장소 최대 크기를 초과했습니다.");
+        }
+        Slots old = slots;
+        Slots resized = newSlots(old.capacity() << 1);
+        for(int slot = 0; slot < old.capacity(); slot++){
+            long key = old.key(slot);
+            if(key != EMPTY){
+                resized.set(slotOf(resized, key), key, old.point(slot), old.millis(slot));
+            }
+        }
+        slots = resized;
+    }
+
+    private Slots newSlots(int capacity){
+        return offHeap ? new OffHeapSlots(capacity) : new HeapSlots(capacity);
+    }
+
+    private static void checkId(long id){
+        if(id == EMPTY){
+            throw new IllegalArgumentException("사용할 수 없는 사용자 ID입니다.");
+        }
+    }
+
+    private static int hash(long id){
+        long mixed = id * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static int tableSizeFor(int capacity){
+        int needed = (int) Math.min(MAX_CAPACITY, Math.max(16L, capacity * 4L / 3 + 1));
+        return needed >= MAX_CAPACITY ? MAX_CAPACITY : Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    public interface Visitor {
+        void visit(long id, long point, long updateMillis);
+    }
+
+    //슬롯 저장 방식 (힙 배열 / 오프힙 버퍼)
+    private interface Slots {
+        int capacity();
+
+        long key(int slot);
+
+        long point(int slot);
+
+        long millis(int slot);
+
+        void set(int slot, long key, long point, long millis);
+    }
+
+    private static final class HeapSlots implements Slots {
+        private final long[] keys;
+        private final long[] points;
+        private final long[] millis;
+
+        private HeapSlots(int capacity){
+            this.keys = new long[capacity];
+            this.points = new long[capacity];
+            this.millis = new long[capacity];
+            java.util.Arrays.fill(keys, EMPTY);
+        }
+
+        @Override
+        public int capacity(){
+            return keys.length;
+        }
+
+        @Override
+        public long key(int slot){
+            return keys[slot];
+        }
+
+        @Override
+        public long point(int slot){
+            return points[slot];
+        }
+
+        @Override
+        public long millis(int slot){
+            return millis[slot];
+        }
+
+        @Override
+        public void set(int slot, long key, long point, long updateMillis){
+            points[slot] = point;
+            millis[slot] = updateMillis;
+            keys[slot] = key;
+        }
+    }
+
+    //다이렉트 버퍼 하나는 2GB를 넘을 수 없으므로 고정 크기 조각으로 나눠서 할당
+    private static final class OffHeapSlots implements Slots {
+        private static final int SLOT_BYTES = 24;
+        private static final int SLOTS_PER_CHUNK_SHIFT = 20;
+        private static final int SLOTS_PER_CHUNK = 1 << SLOTS_PER_CHUNK_SHIFT;
+
+        private final int capacity;
+        private final ByteBuffer[] chunks;
+
+        private OffHeapSlots(int capacity){
+            this.capacity = capacity;
+            int chunkCount = Math.max(1, capacity >>> SLOTS_PER_CHUNK_SHIFT);
+            int slotsPerChunk = Math.min(capacity, SLOTS_PER_CHUNK);
+            this.chunks = new ByteBuffer[chunkCount];
+            for(int i = 0; i < chunkCount; i++){
+                chunks[i] = ByteBuffer.allocateDirect(slotsPerChunk * SLOT_BYTES);
+                for(int slot = 0; slot < slotsPerChunk; slot++){
+                    chunks[i].putLong(slot * SLOT_BYTES, EMPTY);
+                }
+            }
+        }
+
+        @Override
+        public int capacity(){
+            return capacity;
+        }
+
+        @Override
+        public long key(int slot){
+            return chunk(slot).getLong(offset(slot));
+        }
+
+        @Override
+        public long point(int slot){
+            return chunk(slot).getLong(offset(slot) + 8);
+        }
+
+        @Override
+        public long millis(int slot){
+            return chunk(slot).getLong(offset(slot) + 16);
+        }
+
+        @Override
+        public void set(int slot, long key, long point, long updateMillis){
+            ByteBuffer chunk = chunk(slot);
+            int offset = offset(slot);
+            chunk.putLong(offset + 8, point);
+            chunk.putLong(offset + 16, updateMillis);
+            chunk.putLong(offset, key);
+        }
+
+        private ByteBuffer chunk(int slot){
+            return chunks[slot >>> SLOTS_PER_CHUNK_SHIFT];
+        }
+
+        private static int offset(int slot){
+            return (slot & (SLOTS_PER_CHUNK - 1)) * SLOT_BYTES;
+        }
+    }
+}
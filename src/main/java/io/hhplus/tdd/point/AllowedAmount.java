@@ -1,35 +1,53 @@
 package io.hhplus.tdd.point;
 
 import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 
+//한 번에 충전/사용할 수 있는 포인트 금액 (네이버 쿠키 방식 차용)
+//- 충전 : 모든 금액
+//- 사용 : 100, 200, 300
 public enum AllowedAmount {
-    POINT_100(100L),
-    POINT_200(200L),
-    POINT_300(100L),
-    POINT_1000(1000L),
-    POINT_3000(3000L),
-    POINT_5000(5000L),
-    POINT_10000(10000L),
-    POINT_20000(20000L),
-    POINT_30000(30000L);
+    POINT_100(100L, true),
+    POINT_200(200L, true),
+    POINT_300(300L, true),
+    POINT_1000(1000L, false),
+    POINT_3000(3000L, false),
+    POINT_5000(5000L, false),
+    POINT_10000(10000L, false),
+    POINT_20000(20000L, false),
+    POINT_30000(30000L, false);
 
     private final long value;
+    private final boolean usable;
 
-    AllowedAmount(long value){
+    //요청마다 리스트를 만들지 않도록 클래스 로딩 시점에 정렬된 배열로 만들어 두고 이진 탐색
+    private static final long[] CHARGE_AMOUNTS = sortedValues(false);
+    private static final long[] USE_AMOUNTS = sortedValues(true);
+
+    AllowedAmount(long value, boolean usable){
         this.value = value;
+        this.usable = usable;
     }
 
     public long getValue(){
         return value;
     }
 
-    //Enum의 모든 값을 리스트로 반환
-    public static List<Long>getAllowedValues(){
-        return Arrays.stream(values())
-                .map(AllowedAmount::getValue)
-                .collect(Collectors.toList());
+    //충전 가능한 금액인지 (객체 생성 없음)
+    public static boolean isChargeAllowed(long amount){
+        return Arrays.binarySearch(CHARGE_AMOUNTS, amount) >= 0;
+    }
+
+    //사용 가능한 금액인지 (객체 생성 없음)
+    public static boolean isUseAllowed(long amount){
+        return Arrays.binarySearch(USE_AMOUNTS, amount) >= 0;
     }
 
+    private static long[] sortedValues(boolean usableOnly){
+        return Arrays.stream(values())
+                .filter(allowedAmount -> !usableOnly || allowedAmount.usable)
+                .mapToLong(AllowedAmount::getValue)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
 }
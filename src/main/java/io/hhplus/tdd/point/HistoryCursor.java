@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+//내역 페이지 커서 (PointHistory.id 기준 keyset)
+//BEFORE : 해당 ID보다 오래된 내역을 최신순으로, AFTER : 해당 ID보다 새로운 내역을 오래된 순으로
+public record HistoryCursor(Direction direction, long id) {
+
+    public enum Direction {
+        BEFORE, AFTER
+    }
+
+    public static HistoryCursor before(long id){
+        return new HistoryCursor(Direction.BEFORE, id);
+    }
+
+    public static HistoryCursor after(long id){
+        return new HistoryCursor(Direction.AFTER, id);
+    }
+
+    //클라이언트에는 내부 형식을 드러내지 않는 토큰으로 전달
+    public String encode(){
+        String raw = (direction == Direction.BEFORE ? "b:" : "a:") + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static HistoryCursor decode(String token){
+        try{
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            long id = Long.parseLong(raw.substring(2));
+            if(raw.startsWith("b:")){
+                return before(id);
+            }
+            if(raw.startsWith("a:")){
+                return after(id);
+            }
+        }catch (IllegalArgumentException | IndexOutOfBoundsException e){
+            //아래에서 같은 예외로 처리
+        }
+        throw new IllegalArgumentException("올바르지 않은 내역 커서입니다.");
+    }
+}
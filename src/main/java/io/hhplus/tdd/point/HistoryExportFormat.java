@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.io.Writer;
+
+//포인트 내역 내보내기 형식
+//- NDJSON : 한 줄에 내역 하나씩 JSON 객체
+//- CSV : 첫 줄 헤더 + 한 줄에 내역 하나씩
+public enum HistoryExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    HistoryExportFormat(String contentType, String extension){
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static HistoryExportFormat from(String value){
+        for(HistoryExportFormat format : values()){
+            if(format.extension.equalsIgnoreCase(value)){
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 내보내기 형식입니다.");
+    }
+
+    public String getContentType(){
+        return contentType;
+    }
+
+    public String getExtension(){
+        return extension;
+    }
+
+    public void writeHeader(Writer writer) throws IOException {
+        if(this == CSV){
+            writer.write("id,userId,amount,type,updateMillis\n");
+        }
+    }
+
+    //필드가 숫자와 enum뿐이라 JSON 라이브러리 없이 바로 씀
+    public void write(Writer writer, PointHistory history) throws IOException {
+        if(this == CSV){
+            writer.write(history.id() + "," + history.userId() + "," + history.amount() + ","
+                    + history.type() + "," + history.updateMillis() + "\n");
+        }else{
+            writer.write("{\"id\":" + history.id() + ",\"userId\":" + history.userId() + ",\"amount\":" + history.amount()
+                    + ",\"type\":\"" + history.type() + "\",\"updateMillis\":" + history.updateMillis() + "}\n");
+        }
+    }
+}
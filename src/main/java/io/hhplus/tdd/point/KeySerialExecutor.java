@@ -0,0 +1,38 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+
+//키(사용자 ID)별로 작업을 들어온 순서대로 하나씩 실행하는 실행기
+//키마다 대기열(UserMailboxes)을 두고, 대기열에 작업이 있을 때만 공용 실행기에서 꺼내 실행한다.
+//비어 있는 대기열은 바로 제거하므로 메모리는 작업이 남아 있는 키 수에만 비례한다.
+public class KeySerialExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(KeySerialExecutor.class);
+
+    private final UserMailboxes<Runnable> mailboxes;
+
+    //maxRunsPerTurn : 한 키의 작업을 연속으로 실행할 최대 개수 (넘으면 다른 키에 차례를 넘김)
+    public KeySerialExecutor(Executor executor, int maxRunsPerTurn){
+        this.mailboxes = new UserMailboxes<>(executor, maxRunsPerTurn, (key, tasks) -> {
+            for(Runnable task : tasks){
+                try{
+                    task.run();
+                }catch (RuntimeException e){
+                    log.error("사용자별 작업 실행 실패 key={}", key, e);
+                }
+            }
+        });
+    }
+
+    public void execute(long key, Runnable task){
+        mailboxes.send(key, task);
+    }
+
+    //작업이 남아 있는 키 수
+    public int getActiveKeyCount(){
+        return mailboxes.getActiveCount();
+    }
+}
@@ -1,18 +1,147 @@
 package io.hhplus.tdd.point;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 //동시성 제어를 담당하는 별도 컴포넌트
+//- EVICTING : 사용자별 락을 약한 참조로 보관해서, 아무도 쓰지 않는 락은 GC 때 정리됨
+//- STRIPED : 고정 개수(2의 거듭제곱)의 락 배열을 사용자 ID 해시로 나눠 씀 (사용자 수와 무관하게 메모리 일정)
 @Component
 public class LockManager {
-    // 사용자별로 읽기/쓰기 락을 관리
-    private final ConcurrentHashMap<Long, ReentrantReadWriteLock> locks = new ConcurrentHashMap<>();
+
+    public enum Mode {
+        EVICTING, STRIPED
+    }
+
+    public static final int DEFAULT_STRIPES = 1024;
+
+    private final Mode mode;
+
+    // 사용자별로 읽기/쓰기 락을 관리 (EVICTING)
+    // ReentrantReadWriteLock은 synchronized와 달리 대기 중인 가상 스레드를 carrier 스레드에 고정(pinning)하지 않음
+    // 락을 잡은 스레드는 해제할 때까지 락 객체를 참조하고 있으므로, 사용 중인 락은 회수되지 않는다.
+    private final ConcurrentHashMap<Long, LockReference> locks = new ConcurrentHashMap<>();
+    private final ReferenceQueue<ReentrantReadWriteLock> collected = new ReferenceQueue<>();
+
+    // STRIPED 모드에서 쓰는 락 배열
+    private final ReentrantReadWriteLock[] stripes;
+
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder contentionCount = new LongAdder();
+
+    public LockManager(){
+        this(Mode.EVICTING, DEFAULT_STRIPES);
+    }
+
+    @Autowired
+    public LockManager(@Value("${point.lock.mode:evicting}") String mode,
+                       @Value("${point.lock.stripes:1024}") int stripes){
+        this(Mode.valueOf(mode.toUpperCase()), stripes);
+    }
+
+    public LockManager(Mode mode, int stripes){
+        this.mode = mode;
+        if(mode == Mode.STRIPED){
+            //인덱스를 비트 연산으로 구할 수 있도록 2의 거듭제곱으로 올림
+            int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+            this.stripes = new ReentrantReadWriteLock[size];
+            for(int i = 0; i < size; i++){
+                this.stripes[i] = new ReentrantReadWriteLock();
+            }
+        }else{
+            this.stripes = new ReentrantReadWriteLock[0];
+        }
+    }
 
     public ReentrantReadWriteLock getLock(Long id){
-        //키가 없을 때 값을 생성해서 추가해줌
-        return locks.computeIfAbsent(id,key -> new ReentrantReadWriteLock());
+        ReentrantReadWriteLock lock = mode == Mode.STRIPED ? stripes[stripeIndex(id)] : weakLock(id);
+        acquireCount.increment();
+        //이미 다른 스레드가 잡고 있거나 대기 중이면 경합으로 집계
+        if(lock.isWriteLocked() || lock.getReadLockCount() > 0 || lock.hasQueuedThreads()){
+            contentionCount.increment();
+        }
+        return lock;
+    }
+
+    //두 사용자의 락을 모든 호출에서 같은 순서로 반환 (순서대로 잡으면 서로 기다리는 교착이 생기지 않음)
+    //EVICTING은 사용자 ID 순, STRIPED는 락 배열 위치 순이고, 두 사용자가 같은 락을 쓰면 하나만 반환
+    public List<ReentrantReadWriteLock> getLocksInOrder(long firstId, long secondId){
+        if(firstId == secondId || (mode == Mode.STRIPED && stripeIndex(firstId) == stripeIndex(secondId))){
+            return List.of(getLock(firstId));
+        }
+        boolean firstIsLower = mode == Mode.STRIPED
+                ? stripeIndex(firstId) < stripeIndex(secondId)
+                : firstId < secondId;
+        return firstIsLower
+                ? List.of(getLock(firstId), getLock(secondId))
+                : List.of(getLock(secondId), getLock(firstId));
+    }
+
+    //현재 메모리에 남아 있는 락 개수
+    public int getLiveLockCount(){
+        if(mode == Mode.STRIPED){
+            return stripes.length;
+        }
+        purgeCollected();
+        return locks.size();
+    }
+
+    public long getAcquireCount(){
+        return acquireCount.sum();
+    }
+
+    public long getContentionCount(){
+        return contentionCount.sum();
+    }
+
+    public Mode getMode(){
+        return mode;
+    }
+
+    private ReentrantReadWriteLock weakLock(Long id){
+        purgeCollected();
+        //compute 안에서 강한 참조를 잡아 두어야 반환 전에 회수되지 않음
+        ReentrantReadWriteLock[] holder = new ReentrantReadWriteLock[1];
+        locks.compute(id, (key, reference) -> {
+            ReentrantReadWriteLock existing = reference == null ? null : reference.get();
+            if(existing != null){
+                holder[0] = existing;
+                return reference;
+            }
+            holder[0] = new ReentrantReadWriteLock();
+            return new LockReference(key, holder[0], collected);
+        });
+        return holder[0];
+    }
+
+    //GC로 회수된 락의 항목을 맵에서 제거
+    private void purgeCollected(){
+        LockReference reference;
+        while((reference = (LockReference) collected.poll()) != null){
+            locks.remove(reference.id, reference);
+        }
+    }
+
+    private int stripeIndex(long id){
+        //연속된 ID가 같은 구간에 몰리지 않도록 해시를 섞음
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (stripes.length - 1);
+    }
+
+    private static final class LockReference extends WeakReference<ReentrantReadWriteLock> {
+        private final long id;
+
+        private LockReference(long id, ReentrantReadWriteLock lock, ReferenceQueue<ReentrantReadWriteLock> queue){
+            super(lock, queue);
+            this.id = id;
+        }
     }
 }
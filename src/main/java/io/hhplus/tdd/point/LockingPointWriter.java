@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//사용자별 읽기/쓰기 락으로 동시성을 제어하는 기본 방식 (비관적 락)
+@Component
+@ConditionalOnProperty(name = "point.write.mode", havingValue = "locking", matchIfMissing = true)
+public class LockingPointWriter implements PointWriteStrategy {
+
+    protected final UserPointTable userPointTable;
+    //UserPointTable 조회를 줄이기 위한 write-through 캐시
+    protected final UserPointCache userPointCache;
+    //포인트 내역 저장을 잔액 변경과 분리하는 저널
+    protected final PointHistoryJournal historyJournal;
+    protected final LockManager lockManager;
+    //락 대기/보유 시간, 테이블 호출 시간 (주입되지 않으면 기록하지 않음)
+    protected PointMetrics metrics = PointMetrics.NOOP;
+
+    public LockingPointWriter(UserPointTable userPointTable, UserPointCache userPointCache,
+                              PointHistoryJournal historyJournal, LockManager lockManager){
+        this.userPointTable = userPointTable;
+        this.userPointCache = userPointCache;
+        this.historyJournal = historyJournal;
+        this.lockManager = lockManager;
+    }
+
+    @Autowired(required = false)
+    public void setMetrics(PointMetrics metrics){
+        this.metrics = metrics;
+    }
+
+    @Override
+    public UserPoint read(long id){
+        //사용자별 읽기 락을 가져옴
+        ReentrantReadWriteLock lock = lockManager.getLock(id);
+        long waitStart = System.nanoTime();
+        lock.readLock().lock(); //읽기 락 획득
+        long holdStart = System.nanoTime();
+        metrics.recordLockWait(false, waitStart);
+        try{
+            //캐시에 있으면 테이블을 조회하지 않음
+            return userPointCache.getOrLoad(id, this::selectById);
+        }finally{
+            lock.readLock().unlock(); //읽기락 해제
+            metrics.recordLockHold(false, holdStart);
+        }
+    }
+
+    @Override
+    public UserPoint apply(long id, TransactionType type, long amount){
+        ReentrantReadWriteLock lock = lockManager.getLock(id);
+        long waitStart = System.nanoTime();
+        lock.writeLock().lock();
+        long holdStart = System.nanoTime();
+        metrics.recordLockWait(true, waitStart);
+        try{
+            //기존 포인트 가져오기
+            UserPoint currentPoint = userPointCache.getOrLoad(id, this::selectById);
+
+            //포인트 충전/사용 (최대 보유 가능 포인트, 보유 포인트 초과 사용 검증)
+            long updatedPoint = PointPolicy.apply(currentPoint.point(), type, amount);
+
+            //UserPointTable 업데이트
+            UserPoint updated = metrics.insertOrUpdate(userPointTable, id, updatedPoint);
+            userPointCache.put(id, updated);
+
+            //PointHistoryTable에 내역 저장 (저널이 받으면 바로 응답)
+            historyJournal.append(id, amount, type, System.currentTimeMillis());
+            return updated;
+        }finally {
+            lock.writeLock().unlock();
+            metrics.recordLockHold(true, holdStart);
+        }
+    }
+
+    @Override
+    public boolean supportsTransfer(){
+        return true;
+    }
+
+    //두 사용자의 쓰기 락을 LockManager가 정한 전역 순서대로 잡고 한 번에 반영
+    //(그룹 커밋 방식도 같은 쓰기 락 아래에서 반영하므로 그대로 사용)
+    @Override
+    public PointTransferResult transfer(long fromId, long toId, long amount){
+        List<ReentrantReadWriteLock> locks = lockManager.getLocksInOrder(fromId, toId);
+        long waitStart = System.nanoTime();
+        for(ReentrantReadWriteLock lock : locks){
+            lock.writeLock().lock();
+        }
+        long holdStart = System.nanoTime();
+        metrics.recordLockWait(true, waitStart);
+        try{
+            UserPoint from = userPointCache.getOrLoad(fromId, this::selectById);
+            UserPoint to = userPointCache.getOrLoad(toId, this::selectById);
+
+            //두 사용자 모두 규칙을 통과해야 반영 (보유 포인트 초과 사용, 최대 보유 포인트 초과 검증)
+            long fromPoint = PointPolicy.use(from.point(), amount);
+            long toPoint = PointPolicy.charge(to.point(), amount);
+
+            UserPoint savedFrom = metrics.insertOrUpdate(userPointTable, fromId, fromPoint);
+            userPointCache.put(fromId, savedFrom);
+            UserPoint savedTo;
+            try{
+                savedTo = metrics.insertOrUpdate(userPointTable, toId, toPoint);
+            }catch (RuntimeException e){
+                //받는 사용자 저장에 실패하면 보낸 사용자 잔액을 되돌림
+                userPointCache.put(fromId, metrics.insertOrUpdate(userPointTable, fromId, from.point()));
+                throw e;
+            }
+            userPointCache.put(toId, savedTo);
+
+            //한 쌍의 내역은 같은 시각으로 기록
+            long transferMillis = savedTo.updateMillis();
+            historyJournal.append(fromId, amount, TransactionType.USE, transferMillis);
+            historyJournal.append(toId, amount, TransactionType.CHARGE, transferMillis);
+            return new PointTransferResult(savedFrom, savedTo);
+        }finally {
+            //잡은 순서의 반대로 해제
+            for(int i = locks.size() - 1; i >= 0; i--){
+                locks.get(i).writeLock().unlock();
+            }
+            metrics.recordLockHold(true, holdStart);
+        }
+    }
+
+    protected UserPoint selectById(long id){
+        return metrics.selectById(userPointTable, id);
+    }
+}
@@ -0,0 +1,167 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+//사용자별 대기열(mailbox) 방식
+//조회/충전/사용 요청을 사용자 대기열에 넣고, 고정 개수의 worker가 사용자마다 한 번에 한 스레드씩 처리한다.
+//같은 사용자의 요청은 락 없이 순서대로 처리되고, 쌓여 있던 요청은 한 묶음으로 처리해서 최종 잔액만 한 번 저장한다.
+//처리가 끝나 비어 있는 대기열은 바로 제거된다.
+@Component
+@ConditionalOnProperty(name = "point.write.mode", havingValue = "mailbox")
+public class MailboxPointWriter implements PointWriteStrategy {
+
+    private final UserPointTable userPointTable;
+    //같은 사용자는 한 번에 한 worker만 처리하므로 사용자 락 없이 캐시를 사용
+    private final UserPointCache userPointCache;
+    private final PointHistoryJournal historyJournal;
+    private final ExecutorService workers;
+    private final UserMailboxes<Command> mailboxes;
+    private PointMetrics metrics = PointMetrics.NOOP;
+
+    @Autowired
+    public MailboxPointWriter(UserPointTable userPointTable, UserPointCache userPointCache, PointHistoryJournal historyJournal,
+                              @Value("${point.write.mailbox.workers:16}") int workerCount,
+                              @Value("${point.write.max-batch-size:64}") int maxBatchSize,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads){
+        this.userPointTable = userPointTable;
+        this.userPointCache = userPointCache;
+        this.historyJournal = historyJournal;
+        this.workers = Executors.newFixedThreadPool(workerCount, PointThreads.factory("point-mailbox-", virtualThreads));
+        //종료 후 처리하지 못한 요청은 실패로 응답 (동기 호출자가 join에서 멈추지 않게)
+        this.mailboxes = new UserMailboxes<>(workers, maxBatchSize, this::process,
+                (id, command, cause) -> command.completeExceptionally(new IllegalStateException("포인트 대기열이 종료되었습니다.", cause)));
+    }
+
+    public MailboxPointWriter(UserPointTable userPointTable, UserPointCache userPointCache, PointHistoryJournal historyJournal,
+                              int workerCount, int maxBatchSize){
+        this(userPointTable, userPointCache, historyJournal, workerCount, maxBatchSize, false);
+    }
+
+    @Autowired(required = false)
+    public void setMetrics(PointMetrics metrics){
+        this.metrics = metrics;
+    }
+
+    @Override
+    public UserPoint read(long id){
+        return send(id, new Command(null, 0));
+    }
+
+    @Override
+    public UserPoint apply(long id, TransactionType type, long amount){
+        return send(id, new Command(type, amount));
+    }
+
+    //사용자 대기열에 넣고 바로 반환 (호출한 쪽의 시간 초과/취소가 처리 중인 명령을 끝내지 않도록 복사본을 반환)
+    @Override
+    public CompletableFuture<UserPoint> readAsync(long id, Executor executor){
+        Command command = new Command(null, 0);
+        mailboxes.send(id, command);
+        return command.copy();
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> applyAsync(long id, TransactionType type, long amount, Executor executor){
+        Command command = new Command(type, amount);
+        mailboxes.send(id, command);
+        return command.copy();
+    }
+
+    public int getActiveMailboxCount(){
+        return mailboxes.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        workers.shutdown();
+    }
+
+    private UserPoint send(long id, Command command){
+        mailboxes.send(id, command);
+        try{
+            return command.join();
+        }catch (CompletionException e){
+            //규칙 위반 등은 원래 예외 그대로 전달
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    //한 사용자의 요청 묶음을 순서대로 반영 (worker 스레드)
+    private void process(long id, List<Command> batch){
+        try{
+            UserPoint loaded = userPointCache.getOrLoad(id, key -> metrics.selectById(userPointTable, key));
+            long point = loaded.point();
+            boolean changed = false;
+            for(Command command : batch){
+                if(command.type == null){
+                    //앞서 반영한 변경이 없으면 읽은 값 그대로, 있으면 저장 후 그 시점의 잔액으로 응답
+                    command.balance = point;
+                    command.afterChange = changed;
+                    continue;
+                }
+                try{
+                    point = PointPolicy.apply(point, command.type, command.amount);
+                    command.balance = point;
+                    command.afterChange = true;
+                    changed = true;
+                }catch (IllegalArgumentException e){
+                    command.completeExceptionally(e);
+                }
+            }
+
+            long updateMillis = loaded.updateMillis();
+            if(changed){
+                UserPoint saved = metrics.insertOrUpdate(userPointTable, id, point);
+                userPointCache.put(id, saved);
+                updateMillis = saved.updateMillis();
+                for(Command command : batch){
+                    if(command.type != null && !command.isDone()){
+                        historyJournal.append(id, command.amount, command.type, updateMillis);
+                    }
+                }
+            }
+
+            //저장이 끝난 뒤에 응답
+            for(Command command : batch){
+                if(!command.isDone()){
+                    command.complete(command.afterChange
+                            ? new UserPoint(id, command.balance, updateMillis)
+                            : loaded);
+                }
+            }
+        }catch (RuntimeException e){
+            //조회/저장 중 실패하면 아직 응답하지 못한 요청을 모두 실패 처리
+            for(Command command : batch){
+                command.completeExceptionally(e);
+            }
+        }
+    }
+
+    //type이 null이면 조회
+    private static final class Command extends CompletableFuture<UserPoint> {
+        private final TransactionType type;
+        private final long amount;
+        private long balance;
+        private boolean afterChange;
+
+        private Command(TransactionType type, long amount){
+            this.type = type;
+            this.amount = amount;
+        }
+    }
+}
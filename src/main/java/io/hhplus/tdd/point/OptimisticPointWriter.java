@@ -0,0 +1,327 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+//낙관적 동시성 제어 방식
+//사용자별로 확정된 (포인트, 버전)을 메모리에 두고, 락 없이 새 잔액을 계산한 뒤 CAS로 버전을 올리면 그 변경이 확정된다.
+//규칙 검증은 항상 확정된 값 기준이고, 다른 요청이 먼저 버전을 올렸으면(충돌) 잠깐 기다렸다가 최신 값으로 다시 계산한다.
+//테이블/내역 저장은 사용자마다 한 번에 한 스레드만 하고, 저장하는 동안 확정된 변경은 다음 저장 한 번에 모아서 반영한다.
+//그래서 느린 테이블 저장 한 번이 여러 요청을 처리하며, 요청마다 저장을 차례로 기다리는 락 방식과 처리량이 달라진다.
+//저장에 실패하면 아직 저장되지 않은 확정 변경을 모두 버리고(기록을 닫음) 다음 요청부터 테이블에서 다시 읽는다.
+//저장에 실패한 요청은 예외로 응답하고, 같은 저장에 묶여 있던 다른 요청은 다시 읽은 값으로 재시도한다.
+//(버려진 변경을 기준으로 거절된 요청은 되돌리지 않는다.)
+//기록은 최대 maxRecords명까지만 두고, 넘으면 저장이 끝나 쉬고 있는 기록부터 최근에 쓰이지 않은 것을 닫고 제거한다.
+@Component
+@ConditionalOnProperty(name = "point.write.mode", havingValue = "optimistic")
+public class OptimisticPointWriter implements PointWriteStrategy {
+
+    public static final int DEFAULT_MAX_RECORDS = 100_000;
+    //첫 재시도 대기 시간 (재시도마다 두 배, 최대 maxBackoffNanos)
+    private static final long BASE_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    //테이블에서 기록을 만들 때 쓰는 락 수 (2의 거듭제곱)
+    private static final int LOAD_STRIPES = 1024;
+    //닫힌 기록의 버전 (CAS가 항상 실패하도록 다른 버전과 겹치지 않는 값)
+    private static final Version CLOSED = new Version(0, -1, null, 0, null);
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryJournal historyJournal;
+    private final int maxAttempts;
+    private final long maxBackoffNanos;
+    private final int maxRecords;
+
+    private final ConcurrentHashMap<Long, VersionedPoint> records = new ConcurrentHashMap<>();
+    //같은 사용자의 기록 생성(테이블 조회)과 제거를 직렬화해서, 제거 전에 시작한 조회가 오래된 값으로 기록을 만들지 않게 함
+    private final ReentrantLock[] loadLocks = new ReentrantLock[LOAD_STRIPES];
+    private final ReentrantLock evictLock = new ReentrantLock();
+    private final LongAdder conflictCount = new LongAdder();
+    //테이블 호출 시간 (주입되지 않으면 기록하지 않음)
+    private PointMetrics metrics = PointMetrics.NOOP;
+    //재시작 때 복구한 잔액 (캐시는 쓰지 않고 복구한 잔액만 참조, 주입되지 않으면 테이블만 읽음)
+    private UserPointCache userPointCache;
+
+    public OptimisticPointWriter(UserPointTable userPointTable, PointHistoryJournal historyJournal,
+                                 int maxAttempts, long maxBackoffMicros){
+        this(userPointTable, historyJournal, maxAttempts, maxBackoffMicros, DEFAULT_MAX_RECORDS);
+    }
+
+    @Autowired
+    public OptimisticPointWriter(UserPointTable userPointTable, PointHistoryJournal historyJournal,
+                                 @Value("${point.write.optimistic.max-attempts:100}") int maxAttempts,
+                                 @Value("${point.write.optimistic.max-backoff-micros:1000}") long maxBackoffMicros,
+                                 @Value("${point.write.optimistic.max-records:100000}") int maxRecords){
+        this.userPointTable = userPointTable;
+        this.historyJournal = historyJournal;
+        this.maxAttempts = maxAttempts;
+        this.maxBackoffNanos = TimeUnit.MICROSECONDS.toNanos(maxBackoffMicros);
+        this.maxRecords = Math.max(1, maxRecords);
+        for(int i = 0; i < LOAD_STRIPES; i++){
+            loadLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMetrics(PointMetrics metrics){
+        this.metrics = metrics;
+    }
+
+    @Autowired(required = false)
+    public void setUserPointCache(UserPointCache userPointCache){
+        this.userPointCache = userPointCache;
+    }
+
+    //저장이 끝난 값만 반환하므로 락 없이 읽음
+    @Override
+    public UserPoint read(long id){
+        return record(id).persisted;
+    }
+
+    @Override
+    public UserPoint apply(long id, TransactionType type, long amount){
+        for(int attempt = 0; attempt < maxAttempts; attempt++){
+            VersionedPoint record = record(id);
+            Version current = record.version.get();
+            if(current == CLOSED){
+                //제거되었거나 저장에 실패한 기록 → 테이블에서 다시 읽음
+                continue;
+            }
+            //규칙 위반(최대 포인트/잔액 부족)은 재시도하지 않고 바로 거절
+            long updatedPoint = PointPolicy.apply(current.point, type, amount);
+            Version next = new Version(updatedPoint, current.number + 1, type, amount, current);
+            if(record.version.compareAndSet(current, next)){
+                UserPoint saved = record.awaitPersisted(next);
+                if(saved != null){
+                    return saved;
+                }
+                //확정된 변경이 저장되지 못하고 버려짐 → 테이블에서 다시 읽어 재시도
+            }else{
+                conflictCount.increment();
+            }
+            backoff(attempt);
+        }
+        throw new PointConflictException();
+    }
+
+    public long getConflictCount(){
+        return conflictCount.sum();
+    }
+
+    //메모리에 둔 사용자 기록 수
+    public int getRecordCount(){
+        return records.size();
+    }
+
+    private VersionedPoint record(long id){
+        VersionedPoint record = records.get(id);
+        if(record != null && record.version.get() != CLOSED){
+            if(!record.referenced){
+                record.referenced = true;
+            }
+            return record;
+        }
+        VersionedPoint loaded;
+        ReentrantLock loadLock = loadLocks[Long.hashCode(id) & (LOAD_STRIPES - 1)];
+        loadLock.lock();
+        try{
+            //기다리는 동안 다른 스레드가 만들었으면 그것을 사용 (같은 사용자의 테이블 조회는 한 번만)
+            VersionedPoint existing = records.get(id);
+            if(existing != null && existing.version.get() != CLOSED){
+                return existing;
+            }
+            loaded = new VersionedPoint(id, load(id));
+            records.put(id, loaded);
+        }finally {
+            loadLock.unlock();
+        }
+        if(records.size() > maxRecords){
+            evictIdle();
+        }
+        return loaded;
+    }
+
+    //아직 저장되지 않은 복구 잔액이 있으면 테이블 대신 사용
+    private UserPoint load(long id){
+        UserPoint restored = userPointCache != null ? userPointCache.findRestored(id) : null;
+        return restored != null ? restored : metrics.selectById(userPointTable, id);
+    }
+
+    //저장이 끝나 쉬고 있는 기록 중 최근에 쓰이지 않은 것부터 닫고 제거 (한 번에 한 스레드, 최대 크기의 90%까지)
+    //처음 지나갈 때는 최근에 쓰인 기록의 사용 표시만 지우고 나머지를 제거하며 (clock 방식),
+    //모든 사용자가 계속 쓰여서 그래도 줄지 않으면 두 번째에는 쉬고 있는 기록을 사용 표시와 관계없이 제거
+    private void evictIdle(){
+        if(!evictLock.tryLock()){
+            return;
+        }
+        try{
+            int target = maxRecords - maxRecords / 10;
+            for(int pass = 0; pass < 2 && records.size() > target; pass++){
+                Iterator<VersionedPoint> iterator = records.values().iterator();
+                while(records.size() > target && iterator.hasNext()){
+                    VersionedPoint record = iterator.next();
+                    if(pass == 0 && record.referenced){
+                        record.referenced = false;
+                    }else{
+                        close(record);
+                    }
+                }
+            }
+        }finally {
+            evictLock.unlock();
+        }
+    }
+
+    //확정된 변경이 모두 저장된 기록만 닫음. 닫은 뒤의 조회는 테이블의 최신 값으로 기록을 새로 만든다.
+    private void close(VersionedPoint record){
+        ReentrantLock loadLock = loadLocks[Long.hashCode(record.id) & (LOAD_STRIPES - 1)];
+        if(!loadLock.tryLock()){
+            return;
+        }
+        try{
+            Version current = record.version.get();
+            if(current != CLOSED && current.number == record.persistedNumber && record.version.compareAndSet(current, CLOSED)){
+                records.remove(record.id, record);
+            }
+        }finally {
+            loadLock.unlock();
+        }
+    }
+
+    //충돌이 반복될수록 대기 시간을 늘림 (같은 시점에 다시 부딪히지 않도록 무작위로)
+    private void backoff(int attempt){
+        long limit = Math.min(maxBackoffNanos, BASE_BACKOFF_NANOS << Math.min(attempt, 20));
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(limit + 1));
+    }
+
+    //확정된 버전. previous는 아직 저장되지 않은 변경을 거슬러 올라가 내역을 남기는 데만 쓰고, 저장이 끝나면 끊는다.
+    private static final class Version {
+        private final long point;
+        private final long number;
+        private final TransactionType type;
+        private final long amount;
+        private volatile Version previous;
+        //이 버전을 반영한 테이블 저장 시각 (저장 후 flushLock 안에서 기록)
+        private long updateMillis;
+
+        private Version(long point, long number, TransactionType type, long amount, Version previous){
+            this.point = point;
+            this.number = number;
+            this.type = type;
+            this.amount = amount;
+            this.previous = previous;
+        }
+    }
+
+    private final class VersionedPoint {
+        private final long id;
+        private final AtomicReference<Version> version;
+        //마지막으로 저장이 끝난 값과 버전
+        private volatile UserPoint persisted;
+        private volatile long persistedNumber;
+        //저장은 한 번에 한 스레드만 (flushing), 나머지는 자기 버전이 저장될 때까지 대기
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private final Condition flushed = flushLock.newCondition();
+        private boolean flushing;
+        //최근 사용 표시 (제거 대상 고를 때 사용)
+        private volatile boolean referenced = true;
+
+        private VersionedPoint(long id, UserPoint initial){
+            this.id = id;
+            this.version = new AtomicReference<>(new Version(initial.point(), 0, null, 0, null));
+            this.persisted = initial;
+        }
+
+        //확정한 버전이 저장될 때까지 기다림. 저장하는 스레드가 없으면 직접 그때까지 확정된 변경을 모두 저장
+        //저장되기 전에 기록이 닫혔으면(앞선 저장 실패) null (호출한 쪽에서 다시 계산)
+        private UserPoint awaitPersisted(Version mine){
+            flushLock.lock();
+            try{
+                while(persistedNumber < mine.number){
+                    if(version.get() == CLOSED){
+                        return null;
+                    }
+                    if(!flushing){
+                        flushing = true;
+                        break;
+                    }
+                    flushed.awaitUninterruptibly();
+                }
+                if(persistedNumber >= mine.number){
+                    return new UserPoint(id, mine.point, mine.updateMillis);
+                }
+            }finally {
+                flushLock.unlock();
+            }
+            flush();
+            return awaitPersisted(mine);
+        }
+
+        //지금까지 확정된 최신 버전을 한 번 저장하고, 그 사이 변경의 내역을 순서대로 남김
+        private void flush(){
+            Version target = version.get();
+            if(target == CLOSED){
+                publish(null, null, List.of());
+                return;
+            }
+            UserPoint saved;
+            try{
+                saved = metrics.insertOrUpdate(userPointTable, id, target.point);
+            }catch (RuntimeException e){
+                //저장되지 않은 확정 변경은 모두 버리고 기록을 닫음 (다음 요청은 테이블에서 다시 읽음)
+                version.set(CLOSED);
+                records.remove(id, this);
+                publish(null, null, List.of());
+                throw e;
+            }
+            List<Version> changes = new ArrayList<>();
+            for(Version change = target; change != null && change.number > persistedNumber; change = change.previous){
+                changes.add(change);
+            }
+            target.previous = null;
+            try{
+                if(userPointCache != null){
+                    userPointCache.clearRestored(id);
+                }
+                for(int i = changes.size() - 1; i >= 0; i--){
+                    Version change = changes.get(i);
+                    historyJournal.append(id, change.amount, change.type, saved.updateMillis());
+                }
+            }finally {
+                //테이블에는 이미 반영되었으므로 내역 저장이 실패해도 저장된 것으로 처리
+                publish(target, saved, changes);
+            }
+        }
+
+        //저장 결과를 알리고 차례를 넘김 (saved가 null이면 저장하지 못함)
+        private void publish(Version target, UserPoint saved, List<Version> changes){
+            flushLock.lock();
+            try{
+                if(saved != null){
+                    for(Version change : changes){
+                        change.updateMillis = saved.updateMillis();
+                    }
+                    persisted = saved;
+                    persistedNumber = target.number;
+                }
+                flushing = false;
+                flushed.signalAll();
+            }finally {
+                flushLock.unlock();
+            }
+        }
+    }
+}
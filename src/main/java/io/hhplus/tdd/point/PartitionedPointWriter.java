@@ -0,0 +1,359 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+//파티션 방식 (shard-per-core)
+//사용자 ID 해시로 사용자를 N개(기본 코어 수) 파티션에 나누고, 파티션마다 잔액을 직접 들고 단일 writer 스레드가 명령을 처리한다.
+//한 사용자의 명령은 항상 같은 스레드가 들어온 순서대로 처리하므로 LockManager 없이 동작하고, 파티션끼리는 공유하는 상태가 없다.
+//writer는 쌓여 있는 명령을 최대 maxBatchSize개씩 꺼내서 사용자마다 최종 잔액만 한 번 저장한다.
+//테이블 조회/저장과 내역 기록(호출당 최대 수백 ms)은 writer가 직접 하지 않고, 묶음 안의 사용자별로 I/O 실행기에서 동시에 실행한 뒤 모두 끝나면 다음 묶음으로 넘어간다.
+//그래서 파티션 처리량은 (파티션 수 ÷ 호출 지연)이 아니라 (파티션 수 × 묶음 안의 사용자 수 ÷ 호출 지연)에 가깝다.
+//같은 사용자의 저장은 한 묶음에 한 번이고 묶음끼리는 차례로 처리하므로, 사용자별 저장 순서는 그대로 유지된다.
+//파티션이 들고 있는 잔액은 파티션마다 최근에 처리한 maxBalances/N명까지만 두고, 넘으면 오래된 사용자부터 제거한다.
+//(저장이 모두 끝난 묶음 사이에서만 제거하므로, 제거된 사용자는 다음에 테이블의 최신 값으로 다시 올라온다.)
+//파티션이 단독으로 갖는 것은 잔액과 쓰기 경로뿐이다.
+//- 내역 : 파티션마다 내역 인덱스를 두지 않고 공용 PointHistoryJournal/PointHistoryIndex에 남긴다.
+//  내역 조회/요약/내보내기가 쓰기 방식과 관계없이 하나의 PointHistoryIndex를 읽기 때문이고,
+//  저널과 인덱스는 사용자별로 나뉘어 있어 다른 파티션의 내역 기록과 서로 기다리지 않는다.
+//- I/O 실행기 : 파티션마다 두지 않고 하나를 함께 쓴다. 느린 테이블 호출을 동시에 실행하는 스레드 수를
+//  파티션 수와 관계없이 io-threads로 제한하기 위해서이며, 실행기에 넘기는 작업은 자기 파티션 사용자의 값만 다룬다.
+@Component
+@ConditionalOnProperty(name = "point.write.mode", havingValue = "partitioned")
+public class PartitionedPointWriter implements PointWriteStrategy {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedPointWriter.class);
+
+    public static final int DEFAULT_MAX_BALANCES = 100_000;
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryJournal historyJournal;
+    private final int maxBatchSize;
+    private final boolean virtualThreads;
+    //파티션 하나가 들고 있는 최대 사용자 수
+    private final int maxBalancesPerPartition;
+    //테이블 조회/저장, 내역 기록을 실행하는 실행기 (모든 파티션이 함께 사용)
+    private final ExecutorService ioExecutor;
+    private final Partition[] partitions;
+    private volatile boolean closed;
+    //테이블 호출 시간 (주입되지 않으면 기록하지 않음)
+    private PointMetrics metrics = PointMetrics.NOOP;
+    //재시작 때 복구한 잔액 (캐시는 쓰지 않고 복구한 잔액만 참조, 주입되지 않으면 테이블만 읽음)
+    private UserPointCache userPointCache;
+
+    @Autowired
+    public PartitionedPointWriter(UserPointTable userPointTable, PointHistoryJournal historyJournal,
+                                  @Value("${point.write.partitioned.partitions:0}") int partitionCount,
+                                  @Value("${point.write.max-batch-size:64}") int maxBatchSize,
+                                  @Value("${point.write.partitioned.io-threads:64}") int ioThreads,
+                                  @Value("${point.write.partitioned.max-balances:100000}") int maxBalances,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads){
+        this.userPointTable = userPointTable;
+        this.historyJournal = historyJournal;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.virtualThreads = virtualThreads;
+        this.ioExecutor = Executors.newFixedThreadPool(Math.max(1, ioThreads), PointThreads.factory("point-partition-io-", virtualThreads));
+        //0 이하면 코어 수만큼
+        int count = partitionCount > 0 ? partitionCount : Runtime.getRuntime().availableProcessors();
+        this.maxBalancesPerPartition = Math.max(1, maxBalances / count);
+        this.partitions = new Partition[count];
+        for(int i = 0; i < count; i++){
+            partitions[i] = new Partition(i);
+        }
+        for(Partition partition : partitions){
+            partition.thread.start();
+        }
+    }
+
+    public PartitionedPointWriter(UserPointTable userPointTable, PointHistoryJournal historyJournal,
+                                  int partitionCount, int maxBatchSize){
+        this(userPointTable, historyJournal, partitionCount, maxBatchSize, 64, DEFAULT_MAX_BALANCES, false);
+    }
+
+    @Autowired(required = false)
+    public void setMetrics(PointMetrics metrics){
+        this.metrics = metrics;
+    }
+
+    @Autowired(required = false)
+    public void setUserPointCache(UserPointCache userPointCache){
+        this.userPointCache = userPointCache;
+    }
+
+    //한 번이라도 처리한 사용자는 파티션이 들고 있는 저장 완료 값을 바로 반환
+    @Override
+    public UserPoint read(long id){
+        Partition partition = partitionOf(id);
+        UserPoint userPoint = partition.balances.get(id);
+        if(userPoint != null){
+            return userPoint;
+        }
+        //처음 보는 사용자는 writer 스레드에서 테이블을 읽어 파티션에 올림
+        return partition.submit(new Command(id, null, 0));
+    }
+
+    @Override
+    public UserPoint apply(long id, TransactionType type, long amount){
+        return partitionOf(id).submit(new Command(id, type, amount));
+    }
+
+    //파티션 대기열에 넣고 바로 반환 (호출한 쪽의 시간 초과/취소가 처리 중인 명령을 끝내지 않도록 복사본을 반환)
+    @Override
+    public CompletableFuture<UserPoint> readAsync(long id, Executor executor){
+        Partition partition = partitionOf(id);
+        UserPoint userPoint = partition.balances.get(id);
+        if(userPoint != null){
+            return CompletableFuture.completedFuture(userPoint);
+        }
+        return partition.enqueue(new Command(id, null, 0)).copy();
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> applyAsync(long id, TransactionType type, long amount, Executor executor){
+        return partitionOf(id).enqueue(new Command(id, type, amount)).copy();
+    }
+
+    public int getPartitionCount(){
+        return partitions.length;
+    }
+
+    //모든 파티션이 들고 있는 사용자 수
+    public int getBalanceCount(){
+        int count = 0;
+        for(Partition partition : partitions){
+            count += partition.balances.size();
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        closed = true;
+        for(Partition partition : partitions){
+            partition.thread.interrupt();
+        }
+        ioExecutor.shutdown();
+    }
+
+    private Partition partitionOf(long id){
+        //연속된 ID가 같은 파티션에 몰리지 않도록 해시를 섞음
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return partitions[Math.floorMod((int) (hash ^ (hash >>> 32)), partitions.length)];
+    }
+
+    private final class Partition {
+        //파티션이 가진 사용자별 저장 완료 잔액 (쓰기는 writer 스레드만, 읽기는 어느 스레드에서나)
+        private final ConcurrentHashMap<Long, UserPoint> balances = new ConcurrentHashMap<>();
+        //최근에 처리한 순서 (writer 스레드만 사용, 가장 오래된 사용자가 맨 앞)
+        private final LinkedHashMap<Long, Boolean> recent = new LinkedHashMap<>(16, 0.75f, true);
+        private final BlockingQueue<Command> commands = new LinkedBlockingQueue<>();
+        private final Thread thread;
+
+        private Partition(int index){
+            this.thread = PointThreads.factory("point-partition-" + index + "-", virtualThreads).newThread(this::run);
+        }
+
+        private Command enqueue(Command command){
+            if(closed){
+                throw new IllegalStateException("포인트 파티션이 종료되었습니다.");
+            }
+            commands.add(command);
+            if(closed){
+                //종료와 동시에 들어온 명령은 writer가 처리하지 못할 수 있으므로 바로 실패 처리
+                command.completeExceptionally(new IllegalStateException("포인트 파티션이 종료되었습니다."));
+            }
+            return command;
+        }
+
+        private UserPoint submit(Command command){
+            try{
+                return enqueue(command).join();
+            }catch (CompletionException e){
+                //규칙 위반 등은 원래 예외 그대로 전달
+                if(e.getCause() instanceof RuntimeException cause){
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        private void run(){
+            List<Command> batch = new ArrayList<>(maxBatchSize);
+            try{
+                while(!closed){
+                    batch.add(commands.take());
+                    commands.drainTo(batch, maxBatchSize - 1);
+                    try{
+                        process(batch);
+                    }catch (RuntimeException e){
+                        log.error("포인트 파티션 처리 실패 thread={}", thread.getName(), e);
+                        for(Command command : batch){
+                            command.completeExceptionally(e);
+                        }
+                    }
+                    evict(batch);
+                    batch.clear();
+                }
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+            //종료 후 남은 명령은 실패 처리해서 호출한 쪽이 기다리지 않게 함
+            IllegalStateException stopped = new IllegalStateException("포인트 파티션이 종료되었습니다.");
+            batch.forEach(command -> command.completeExceptionally(stopped));
+            commands.forEach(command -> command.completeExceptionally(stopped));
+        }
+
+        //묶음 안의 명령을 순서대로 계산한 뒤, 바뀐 사용자마다 한 번씩 저장하고 내역은 명령 순서대로 남김
+        private void process(List<Command> batch){
+            //처음 보는 사용자는 I/O 실행기에서 동시에 읽음
+            Map<Long, CompletableFuture<UserPoint>> loads = new HashMap<>();
+            for(Command command : batch){
+                loads.computeIfAbsent(command.userId, this::load);
+            }
+            Map<Long, UserPoint> loaded = new HashMap<>();
+            //이 묶음에서 바뀐 사용자별 잔액
+            Map<Long, Long> pending = new LinkedHashMap<>();
+            for(Command command : batch){
+                UserPoint before = loaded.get(command.userId);
+                if(before == null){
+                    try{
+                        before = join(loads.get(command.userId));
+                        loaded.put(command.userId, before);
+                    }catch (RuntimeException e){
+                        command.completeExceptionally(e);
+                        continue;
+                    }
+                }
+                long current = pending.getOrDefault(command.userId, before.point());
+                if(command.type == null){
+                    command.balance = current;
+                    command.afterChange = pending.containsKey(command.userId);
+                    continue;
+                }
+                try{
+                    long updated = PointPolicy.apply(current, command.type, command.amount);
+                    pending.put(command.userId, updated);
+                    command.balance = updated;
+                    command.afterChange = true;
+                }catch (IllegalArgumentException e){
+                    command.completeExceptionally(e);
+                }
+            }
+
+            //바뀐 사용자마다 저장 + 내역 기록을 I/O 실행기에서 동시에 실행
+            Map<Long, List<Command>> changes = new HashMap<>();
+            for(Command command : batch){
+                if(command.type != null && !command.isDone()){
+                    changes.computeIfAbsent(command.userId, key -> new ArrayList<>()).add(command);
+                }
+            }
+            Map<Long, CompletableFuture<UserPoint>> saves = new HashMap<>();
+            pending.forEach((userId, point) ->
+                    saves.put(userId, CompletableFuture.supplyAsync(() -> save(userId, point, changes.get(userId)), ioExecutor)));
+
+            //저장이 끝난 뒤에 응답 (저장을 모두 기다린 뒤 다음 묶음을 처리)
+            for(Command command : batch){
+                if(command.isDone()){
+                    continue;
+                }
+                if(!command.afterChange){
+                    command.complete(loaded.get(command.userId));
+                    continue;
+                }
+                try{
+                    UserPoint saved = join(saves.get(command.userId));
+                    command.complete(new UserPoint(command.userId, command.balance, saved.updateMillis()));
+                }catch (RuntimeException e){
+                    command.completeExceptionally(e);
+                }
+            }
+        }
+
+        //묶음의 저장이 모두 끝난 뒤, 최대 수를 넘은 만큼 가장 오래전에 처리한 사용자의 잔액을 제거
+        private void evict(List<Command> batch){
+            for(Command command : batch){
+                recent.put(command.userId, Boolean.TRUE);
+            }
+            Iterator<Long> eldest = recent.keySet().iterator();
+            while(recent.size() > maxBalancesPerPartition && eldest.hasNext()){
+                balances.remove(eldest.next());
+                eldest.remove();
+            }
+        }
+
+        private CompletableFuture<UserPoint> load(long userId){
+            UserPoint userPoint = balances.get(userId);
+            if(userPoint != null){
+                return CompletableFuture.completedFuture(userPoint);
+            }
+            return CompletableFuture.supplyAsync(() -> {
+                //아직 저장되지 않은 복구 잔액이 있으면 테이블 대신 사용
+                UserPoint restored = userPointCache != null ? userPointCache.findRestored(userId) : null;
+                UserPoint selected = restored != null ? restored : metrics.selectById(userPointTable, userId);
+                balances.put(userId, selected);
+                return selected;
+            }, ioExecutor);
+        }
+
+        //최종 잔액을 저장하고, 저장에 성공하면 반영된 명령의 내역을 들어온 순서대로 기록 (I/O 실행기 스레드)
+        private UserPoint save(long userId, long point, List<Command> commands){
+            UserPoint userPoint = metrics.insertOrUpdate(userPointTable, userId, point);
+            balances.put(userId, userPoint);
+            if(userPointCache != null){
+                userPointCache.clearRestored(userId);
+            }
+            for(Command command : commands){
+                historyJournal.append(userId, command.amount, command.type, userPoint.updateMillis());
+            }
+            return userPoint;
+        }
+
+        //실행기에서 난 예외는 원래 예외 그대로
+        private UserPoint join(CompletableFuture<UserPoint> future){
+            try{
+                return future.join();
+            }catch (CompletionException e){
+                if(e.getCause() instanceof RuntimeException cause){
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    //type이 null이면 조회
+    private static final class Command extends CompletableFuture<UserPoint> {
+        private final long userId;
+        private final TransactionType type;
+        private final long amount;
+        private long balance;
+        private boolean afterChange;
+
+        private Command(long userId, TransactionType type, long amount){
+            this.userId = userId;
+            this.type = type;
+            this.amount = amount;
+        }
+    }
+}
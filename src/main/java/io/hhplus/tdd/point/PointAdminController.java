@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+//운영/감사용 API
+@RestController
+@RequestMapping("/admin/point")
+public class PointAdminController {
+
+    private final PointService pointService;
+
+    public PointAdminController(PointService pointService){
+        this.pointService = pointService;
+    }
+
+    /**
+     * 전체 유저의 포인트 내역을 NDJSON/CSV로 내보냄 (chunked 전송으로 읽는 대로 바로 응답)
+     */
+    @GetMapping("histories/export")
+    public ResponseEntity<StreamingResponseBody> exportHistories(
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        HistoryExportFormat exportFormat = HistoryExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=point-histories." + exportFormat.getExtension())
+                .body(out -> pointService.exportAllPointHistory(exportFormat, out));
+    }
+
+    /**
+     * 전체 포인트 내역으로 유저별 요약을 다시 계산 (요약이 있는 유저 수를 반환)
+     */
+    @PostMapping("summaries/rebuild")
+    public int rebuildSummaries() {
+        return pointService.rebuildPointSummaries();
+    }
+}
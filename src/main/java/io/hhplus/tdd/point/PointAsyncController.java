@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+//PointController와 같은 API를 비동기로 처리
+//CompletableFuture를 반환하면 요청 처리 스레드는 바로 반환되고, 결과가 준비되면 응답이 나간다.
+@RestController
+@RequestMapping("/async/point")
+public class PointAsyncController {
+
+    private final PointAsyncService pointAsyncService;
+
+    public PointAsyncController(PointAsyncService pointAsyncService){
+        this.pointAsyncService = pointAsyncService;
+    }
+
+    /**
+     * 특정 유저의 포인트를 조회
+     */
+    @GetMapping("{id}")
+    public CompletableFuture<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return pointAsyncService.getUserPoint(id);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 최신순으로 조회 (size는 최대 PointService.MAX_PAGE_SIZE)
+     */
+    @GetMapping("{id}/histories")
+    public CompletableFuture<List<PointHistory>> history(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        //page * size가 int 범위를 넘으면 거절 (넘친 값으로 엉뚱한 페이지를 반환하지 않도록)
+        long startIndex = (long) page * size;
+        if(page < 0 || size < 0 || startIndex > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("페이지 정보가 올바르지 않습니다.");
+        }
+        return pointAsyncService.getUserPointHistory(id, (int) startIndex, size);
+    }
+
+    /**
+     * 특정 유저의 포인트를 충전
+     */
+    @PatchMapping("{id}/charge")
+    public CompletableFuture<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return pointAsyncService.chargePoints(id, amount);
+    }
+
+    /**
+     * 특정 유저의 포인트를 사용
+     */
+    @PatchMapping("{id}/use")
+    public CompletableFuture<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return pointAsyncService.usePoints(id, amount);
+    }
+}
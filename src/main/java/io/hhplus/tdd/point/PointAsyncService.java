@@ -0,0 +1,104 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+//PointService의 비동기 버전
+//호출한 스레드는 바로 CompletableFuture를 받고, 실제 처리는 별도 I/O 실행기에서 한다.
+//반영은 PointService가 선택된 반영 방식(PointWriteStrategy)에 맡긴다.
+//- mailbox, partitioned : 반영 방식의 대기열에 바로 넣고 반환하므로 I/O 스레드가 락이나 반영 완료를 기다리지 않는다.
+//- locking, batching, optimistic : 사용자별 대기열(KeySerialExecutor)에서 들어온 순서대로 하나씩 실행한다.
+//  동기 API(PointController)와 일괄 처리도 같은 사용자를 바꾸므로 락은 그대로 필요하지만,
+//  같은 사용자의 비동기 요청은 한 번에 하나만 실행되므로 I/O 스레드가 락을 기다리는 것은 동기 요청과 겹칠 때뿐이다.
+//시간 초과나 취소로 끝난 요청은 아직 시작 전이면 실행하지 않는다. (이미 시작했거나 반영 방식의 대기열에 들어간 요청은 끝까지 반영됨)
+@Service
+public class PointAsyncService {
+
+    private final PointService pointService;
+    private final ExecutorService ioExecutor;
+    private final KeySerialExecutor userExecutor;
+    //0 이하면 시간 제한 없음
+    private final long timeoutMillis;
+
+    @Autowired
+    public PointAsyncService(PointService pointService,
+                             @Value("${point.async.io-threads:64}") int ioThreads,
+                             @Value("${point.async.timeout-millis:3000}") long timeoutMillis,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads){
+        this(pointService, Executors.newFixedThreadPool(ioThreads, PointThreads.factory("point-io-", virtualThreads)), timeoutMillis);
+    }
+
+    public PointAsyncService(PointService pointService, ExecutorService ioExecutor, long timeoutMillis){
+        this.pointService = pointService;
+        this.ioExecutor = ioExecutor;
+        this.userExecutor = new KeySerialExecutor(ioExecutor, 16);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public CompletableFuture<UserPoint> getUserPoint(long id){
+        return submit(id, executor -> pointService.getUserPointAsync(id, executor));
+    }
+
+    public CompletableFuture<UserPoint> chargePoints(long id, long amount){
+        return submit(id, executor -> pointService.chargePointsAsync(id, amount, executor));
+    }
+
+    public CompletableFuture<UserPoint> usePoints(long id, long amount){
+        return submit(id, executor -> pointService.usePointsAsync(id, amount, executor));
+    }
+
+    //내역 조회는 락 없이 인덱스를 읽으므로 사용자 대기열을 거치지 않음
+    public CompletableFuture<List<PointHistory>> getUserPointHistory(long id, int startIndex, int pageSize){
+        CompletableFuture<List<PointHistory>> result = new CompletableFuture<>();
+        try{
+            ioExecutor.execute(() -> run(result, () -> pointService.getUserPointHistory(id, startIndex, pageSize)));
+        }catch (RejectedExecutionException e){
+            result.completeExceptionally(e);
+        }
+        return withTimeout(result);
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        ioExecutor.shutdown();
+    }
+
+    //반영 방식이 executor를 쓰면 해당 사용자의 대기열에서 실행됨
+    private <T> CompletableFuture<T> submit(long id, Function<Executor, CompletableFuture<T>> action){
+        CompletableFuture<T> result;
+        try{
+            result = action.apply(task -> userExecutor.execute(id, task));
+        }catch (RejectedExecutionException e){
+            return CompletableFuture.failedFuture(e);
+        }
+        return withTimeout(result);
+    }
+
+    private <T> void run(CompletableFuture<T> result, Supplier<T> action){
+        //대기하는 동안 시간 초과/취소된 요청은 실행하지 않음
+        if(result.isDone()){
+            return;
+        }
+        try{
+            result.complete(action.get());
+        }catch (RuntimeException e){
+            result.completeExceptionally(e);
+        }
+    }
+
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> result){
+        return timeoutMillis > 0 ? result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS) : result;
+    }
+}
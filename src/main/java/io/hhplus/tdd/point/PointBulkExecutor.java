@@ -0,0 +1,52 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+//일괄 처리에서 사용자별 작업을 병렬로 실행하는 실행기 (동시에 실행되는 사용자 수를 parallelism으로 제한)
+//스레드는 일괄 요청이 들어올 때 만들고, 일정 시간 쉬면 정리되므로 종료하지 않은 실행기도 스레드를 붙잡고 있지 않다.
+@Component
+public class PointBulkExecutor implements Executor {
+
+    public static final int DEFAULT_PARALLELISM = 32;
+    private static final long IDLE_SECONDS = 30;
+
+    private final ThreadPoolExecutor executor;
+
+    public PointBulkExecutor(@Value("${point.bulk.parallelism:32}") int parallelism,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads){
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, IDLE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), PointThreads.factory("point-bulk-", virtualThreads));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    //Spring 밖에서 만든 PointService가 함께 쓰는 기본 실행기 (처음 쓸 때 생성)
+    public static PointBulkExecutor shared(){
+        return SharedHolder.INSTANCE;
+    }
+
+    @Override
+    public void execute(Runnable command){
+        executor.execute(command);
+    }
+
+    //현재 살아 있는 스레드 수
+    public int getPoolSize(){
+        return executor.getPoolSize();
+    }
+
+    @PreDestroy
+    public void shutdown(){
+        executor.shutdown();
+    }
+
+    private static final class SharedHolder {
+        private static final PointBulkExecutor INSTANCE = new PointBulkExecutor(DEFAULT_PARALLELISM, false);
+    }
+}
@@ -0,0 +1,9 @@
+package io.hhplus.tdd.point;
+
+//일괄 처리(bulk)에 쓰는 충전/사용 명령
+public record PointCommand(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+}
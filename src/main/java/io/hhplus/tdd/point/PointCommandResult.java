@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+//일괄 처리 명령 하나의 결과 (성공 시 반영된 포인트, 실패 시 사유)
+public record PointCommandResult(
+        PointCommand command,
+        boolean success,
+        UserPoint userPoint,
+        String reason
+) {
+
+    public static PointCommandResult success(PointCommand command, UserPoint userPoint){
+        return new PointCommandResult(command, true, userPoint, null);
+    }
+
+    public static PointCommandResult failure(PointCommand command, String reason){
+        return new PointCommandResult(command, false, null, reason);
+    }
+}
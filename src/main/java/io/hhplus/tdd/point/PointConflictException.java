@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+//동시 요청 충돌로 재시도 횟수 안에 포인트를 변경하지 못했을 때 던지는 예외
+public class PointConflictException extends IllegalStateException {
+
+    public PointConflictException(){
+        super(PointRejectReason.CONFLICT.getMessage());
+    }
+
+    public PointRejectReason getReason(){
+        return PointRejectReason.CONFLICT;
+    }
+}
@@ -2,55 +2,132 @@ package io.hhplus.tdd.point;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+
 @RestController
 @RequestMapping("/point")
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final PointService pointService;
+
+    public PointController(PointService pointService){
+        this.pointService = pointService;
+    }
 
     /**
-     * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     * 특정 유저의 포인트를 조회
      */
     @GetMapping("{id}")
     public UserPoint point(
             @PathVariable long id
     ) {
-        return new UserPoint(0, 0, 0);
+        return pointService.getUserPoint(id);
     }
 
     /**
-     * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * 특정 유저의 포인트 충전/이용 내역을 커서 기반으로 조회
+     * - cursor : 이전 응답의 nextCursor (없으면 최신 내역부터)
+     * - before : 해당 내역 ID보다 오래된 내역을 최신순으로
+     * - after : 해당 내역 ID보다 새로운 내역을 오래된 순으로
+     * - size : 최대 PointService.MAX_PAGE_SIZE건
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
+    public PointHistoryPage history(
+            @PathVariable long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        HistoryCursor historyCursor = null;
+        if(cursor != null){
+            historyCursor = HistoryCursor.decode(cursor);
+        }else if(before != null){
+            historyCursor = HistoryCursor.before(before);
+        }else if(after != null){
+            historyCursor = HistoryCursor.after(after);
+        }
+        return pointService.getUserPointHistory(id, historyCursor, size);
+    }
+
+    /**
+     * 특정 유저의 포인트 내역 요약 (총 충전/사용 포인트, 건수, 마지막 거래 시각, 최근 일자별 집계)
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
             @PathVariable long id
     ) {
-        return List.of();
+        return pointService.getUserPointSummary(id);
+    }
+
+    /**
+     * 특정 유저의 전체 포인트 내역을 NDJSON/CSV로 내보냄 (chunked 전송으로 읽는 대로 바로 응답)
+     */
+    @GetMapping("{id}/histories/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        HistoryExportFormat exportFormat = HistoryExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=point-" + id + "-histories." + exportFormat.getExtension())
+                .body(out -> pointService.exportUserPointHistory(id, exportFormat, out));
     }
 
     /**
-     * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * 특정 유저의 포인트를 충전
+     * - Idempotency-Key : 같은 키로 다시 보낸 요청에는 처음 요청의 결과를 그대로 반환 (선택)
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return new UserPoint(0, 0, 0);
+        return pointService.chargePoints(id, amount, idempotencyKey);
     }
 
     /**
-     * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * 특정 유저의 포인트를 사용
+     * - Idempotency-Key : 같은 키로 다시 보낸 요청에는 처음 요청의 결과를 그대로 반환 (선택)
      */
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return pointService.usePoints(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 한 유저의 포인트를 다른 유저에게 이체 (두 유저의 잔액과 내역을 한 번에 반영)
+     */
+    @PostMapping("transfer")
+    public PointTransferResult transfer(
+            @RequestBody PointTransfer transfer
+    ) {
+        return pointService.transfer(transfer.fromId(), transfer.toId(), transfer.amount());
+    }
+
+    /**
+     * 여러 유저의 포인트를 일괄 충전/사용 (명령마다 성공 여부와 사유를 반환, 최대 PointService.MAX_BULK_COMMANDS건)
+     */
+    @PostMapping("bulk")
+    public List<PointCommandResult> bulk(
+            @RequestBody List<PointCommand> commands
     ) {
-        return new UserPoint(0, 0, 0);
+        return pointService.applyBulk(commands);
     }
 }
@@ -0,0 +1,257 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryTable;
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+//사용자별 포인트 내역 보조 인덱스
+//PointHistoryTable.selectAllByUserId는 전체 내역을 훑기 때문에, 사용자별로 저장 순서 그대로 내역을 모아 둔다.
+//- memory/concurrent 저장소 : 처음 조회되는 사용자만 테이블에서 한 번 읽어 오고(맵 밖에서 읽음), 이후에는 저장될 때마다 뒤에 붙인다.
+//- mapped 로그 : 시작할 때 로그를 한 번 훑어서 사용자별 내역 ID 목록만 만들고, 내역은 조회할 때 ID로 로그에서 바로 읽는다.
+//  (새 사용자마다 로그 전체를 훑지 않고, 힙에는 내역 한 건당 ID 하나만 보관)
+@Component
+public class PointHistoryIndex {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final ConcurrentHashMap<Long, UserHistories> entries = new ConcurrentHashMap<>();
+    //mapped 로그면 ID로 내역을 읽음 (null이면 내역 객체를 직접 보관)
+    private final LongFunction<PointHistory> resolver;
+    //테이블 조회 시간 (주입되지 않으면 기록하지 않음)
+    private PointMetrics metrics = PointMetrics.NOOP;
+
+    public PointHistoryIndex(PointHistoryTable pointHistoryTable){
+        this.pointHistoryTable = pointHistoryTable;
+        if(pointHistoryTable instanceof MappedPointHistoryLog historyLog){
+            this.resolver = historyLog::selectById;
+            //로그 전체를 한 번만 훑어서 사용자별 ID 목록을 만듦
+            historyLog.forEach(history -> entries.computeIfAbsent(history.userId(), id -> new UserHistories(resolver))
+                    .append(history));
+        }else{
+            this.resolver = null;
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMetrics(PointMetrics metrics){
+        this.metrics = metrics;
+    }
+
+    //PointHistoryTable에 저장된 직후 호출
+    public void append(PointHistory history){
+        histories(history.userId()).append(history);
+    }
+
+    //최신순으로 startIndex부터 pageSize개 (pageSize 만큼만 복사)
+    public List<PointHistory> findLatest(long userId, int startIndex, int pageSize){
+        return histories(userId).latest(startIndex, pageSize);
+    }
+
+    //id보다 오래된 내역을 최신순으로 최대 limit개
+    public List<PointHistory> findBefore(long userId, long id, int limit){
+        return histories(userId).before(id, limit);
+    }
+
+    //id보다 새로운 내역을 오래된 순으로 최대 limit개
+    public List<PointHistory> findAfter(long userId, long id, int limit){
+        return histories(userId).after(id, limit);
+    }
+
+    //저장 순서대로 전체 내역의 스냅샷 (추가 복사 없이 현재 배열과 크기만 고정)
+    public List<PointHistory> findAll(long userId){
+        return histories(userId).snapshot();
+    }
+
+    //전체 사용자의 내역을 하나씩 전달 (목록을 만들지 않음)
+    //메모리 매핑 로그/동시 추가 테이블이면 전체를 ID 순서대로, 아니면 이 인덱스에 올라온 사용자별로 전달
+    //메모리 테이블의 내역은 모두 이 인덱스를 거쳐 저장되므로 빠지는 사용자가 없다.
+    public void forEachHistory(Consumer<PointHistory> action){
+        if(pointHistoryTable instanceof MappedPointHistoryLog historyLog){
+            historyLog.forEach(action);
+            return;
+        }
+        if(pointHistoryTable instanceof ConcurrentPointHistoryTable concurrentTable){
+            concurrentTable.forEach(action);
+            return;
+        }
+        for(UserHistories histories : entries.values()){
+            histories.snapshot().forEach(action);
+        }
+    }
+
+    private UserHistories histories(long userId){
+        UserHistories histories = entries.get(userId);
+        if(histories != null){
+            return histories;
+        }
+        if(resolver != null){
+            //mapped 로그에 없는 사용자는 내역이 없음 (시작할 때 전체를 읽었고 이후 저장은 모두 append로 들어옴)
+            return entries.computeIfAbsent(userId, id -> new UserHistories(resolver));
+        }
+        //느린 테이블 조회는 맵 밖에서 (다른 사용자의 조회/추가를 막지 않음)
+        //동시에 읽은 경우 먼저 들어간 목록을 쓰고, 그 사이 저장된 내역은 append가 중복 없이 붙임
+        UserHistories loaded = new UserHistories(metrics.selectAllByUserId(pointHistoryTable, userId));
+        UserHistories existing = entries.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    //한 사용자의 내역 목록. 읽기는 락 없이 하고, 추가만 락으로 직렬화한다.
+    //size를 마지막에 갱신하므로 읽는 쪽은 size 이전 칸만 보면 항상 채워진 값을 본다.
+    //resolver가 있으면 ID만 보관하고 내역은 읽을 때 ID로 가져온다.
+    static final class UserHistories {
+        private final ReentrantLock appendLock = new ReentrantLock();
+        private final LongFunction<PointHistory> resolver;
+        //테이블에서 처음 읽어 온 내역 수와 그중 가장 큰 ID (이후 append와 겹칠 수 있는 범위)
+        private final int loadedSize;
+        private final long loadedMaxId;
+        private volatile long[] ids;
+        private volatile PointHistory[] items;
+        private volatile int size;
+
+        UserHistories(List<PointHistory> loaded){
+            int capacity = Math.max(8, loaded.size() * 2);
+            this.resolver = null;
+            this.ids = new long[capacity];
+            this.items = loaded.toArray(new PointHistory[capacity]);
+            long maxId = 0;
+            for(int i = 0; i < loaded.size(); i++){
+                ids[i] = loaded.get(i).id();
+                maxId = Math.max(maxId, ids[i]);
+            }
+            this.size = loaded.size();
+            this.loadedSize = loaded.size();
+            this.loadedMaxId = maxId;
+        }
+
+        UserHistories(LongFunction<PointHistory> resolver){
+            this.resolver = resolver;
+            this.ids = new long[8];
+            this.items = null;
+            this.loadedSize = 0;
+            this.loadedMaxId = 0;
+        }
+
+        void append(PointHistory history){
+            appendLock.lock();
+            try{
+                int currentSize = size;
+                //테이블에서 처음 읽어 올 때 이미 포함된 내역이면 건너뜀 (읽어 온 범위와 겹치는 내역만 확인)
+                if(isLoaded(history.id())){
+                    return;
+                }
+                long[] currentIds = ids;
+                PointHistory[] currentItems = items;
+                if(currentSize == currentIds.length){
+                    currentIds = Arrays.copyOf(currentIds, currentIds.length * 2);
+                    if(currentItems != null){
+                        currentItems = Arrays.copyOf(currentItems, currentIds.length);
+                    }
+                }
+                currentIds[currentSize] = history.id();
+                if(currentItems != null){
+                    currentItems[currentSize] = history;
+                }
+                ids = currentIds;
+                items = currentItems;
+                size = currentSize + 1;
+            }finally {
+                appendLock.unlock();
+            }
+        }
+
+        private boolean isLoaded(long id){
+            return loadedSize > 0 && id <= loadedMaxId && Arrays.binarySearch(ids, 0, loadedSize, id) >= 0;
+        }
+
+        List<PointHistory> latest(int startIndex, int pageSize){
+            int currentSize = size;
+            View view = view();
+            int from = currentSize - 1 - startIndex;
+            int count = Math.max(0, Math.min(pageSize, from + 1));
+            List<PointHistory> page = new ArrayList<>(count);
+            for(int i = from; i > from - count; i--){
+                page.add(view.get(i));
+            }
+            return page;
+        }
+
+        //같은 사용자의 내역은 저장 순서대로 ID가 증가하므로 이진 탐색으로 시작 위치를 찾음
+        List<PointHistory> before(long id, int limit){
+            int currentSize = size;
+            View view = view();
+            int end = firstIndexWithIdAtLeast(view.ids, currentSize, id);
+            int count = Math.max(0, Math.min(limit, end));
+            List<PointHistory> page = new ArrayList<>(count);
+            for(int i = end - 1; i >= end - count; i--){
+                page.add(view.get(i));
+            }
+            return page;
+        }
+
+        List<PointHistory> after(long id, int limit){
+            int currentSize = size;
+            View view = view();
+            int start = id == Long.MAX_VALUE ? currentSize : firstIndexWithIdAtLeast(view.ids, currentSize, id + 1);
+            int count = Math.max(0, Math.min(limit, currentSize - start));
+            List<PointHistory> page = new ArrayList<>(count);
+            for(int i = start; i < start + count; i++){
+                page.add(view.get(i));
+            }
+            return page;
+        }
+
+        private static int firstIndexWithIdAtLeast(long[] ids, int currentSize, long id){
+            int low = 0;
+            int high = currentSize;
+            while(low < high){
+                int mid = (low + high) >>> 1;
+                if(ids[mid] < id){
+                    low = mid + 1;
+                }else{
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        //추가 복사 없이 현재 배열과 크기만 고정한 목록 (ID만 보관하면 읽을 때 내역을 가져옴)
+        List<PointHistory> snapshot(){
+            int currentSize = size;
+            View view = view();
+            return new AbstractList<>() {
+                @Override
+                public PointHistory get(int index){
+                    Objects.checkIndex(index, currentSize);
+                    return view.get(index);
+                }
+
+                @Override
+                public int size(){
+                    return currentSize;
+                }
+            };
+        }
+
+        //size를 읽은 뒤에 배열을 읽어야 size 이전 칸이 모두 채워져 있음
+        private View view(){
+            return new View(ids, items, resolver);
+        }
+
+        private record View(long[] ids, PointHistory[] items, LongFunction<PointHistory> resolver) {
+            private PointHistory get(int index){
+                return items != null ? items[index] : resolver.apply(ids[index]);
+            }
+        }
+    }
+}
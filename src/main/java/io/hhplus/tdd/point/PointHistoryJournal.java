@@ -0,0 +1,306 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryTable;
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.database.PointHistoryTable;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//포인트 내역을 잔액 변경 경로와 분리해서 비동기로 저장하는 저널
+//사용자 ID 기준으로 writer를 나누고, 각 writer는 자신의 큐를 들어온 순서대로 저장하므로
+//같은 사용자의 내역은 잔액이 바뀐 순서 그대로 PointHistoryTable에 쌓인다.
+//기본 PointHistoryTable은 동시 추가에 안전하지 않으므로 writer를 하나만 두고, 동기 모드에서도 한 번에 하나씩 저장한다.
+//저장에 실패한 내역은 간격을 늘려 가며 maxRetries번까지 다시 시도하고, 그래도 실패하면 내용을 error 로그로 남기고 다음 내역으로 넘어간다.
+//(계속 실패하는 저장소 때문에 큐가 가득 차서 모든 충전/사용이 멈추지 않도록)
+//종료(close)는 append와 write 락으로 배타적이므로, close 전에 받은 내역은 모두 큐에 들어간 뒤 저장되고 close 후의 append는 예외로 거절된다.
+@Component
+public class PointHistoryJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryJournal.class);
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 1_000;
+    //종료 시 남은 내역 저장을 기다리는 최대 시간
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    public static final int DEFAULT_MAX_RETRIES = 10;
+
+    private final PointHistoryTable pointHistoryTable;
+    //저장된 내역을 사용자별 인덱스에도 반영
+    private final PointHistoryIndex historyIndex;
+    //false면 append 시점에 바로 저장 (동기 모드)
+    private final boolean async;
+    //동시 추가에 안전하지 않은 저장소면 저장을 한 번에 하나씩
+    private final ReentrantLock insertLock;
+    private final List<BlockingQueue<Entry>> queues = new ArrayList<>();
+    private final List<Thread> writers = new ArrayList<>();
+    //저장 실패 시 다시 시도하는 최대 횟수
+    private final int maxRetries;
+    //append끼리는 read 락으로 동시에, close는 write 락으로 진행 중인 append가 큐에 넣을 때까지 기다림
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    //true면 새 내역을 받지 않음
+    private volatile boolean closed;
+    //true면 writer가 큐를 비우고 종료 (closed 이후 남은 내역 저장이 끝난 뒤에 설정)
+    private volatile boolean stopping;
+    //다시 시도해도 저장하지 못하고 버린 내역 수
+    private final AtomicLong droppedCount = new AtomicLong();
+    //내역 저장 시간 (주입되지 않으면 기록하지 않음)
+    private PointMetrics metrics = PointMetrics.NOOP;
+    //사용자별 내역 요약 (주입되지 않으면 집계하지 않음)
+    private PointSummaryStore summaryStore;
+
+    //동기 모드 저널
+    public PointHistoryJournal(PointHistoryTable pointHistoryTable, PointHistoryIndex historyIndex){
+        this(pointHistoryTable, historyIndex, false, 1, 1, false);
+    }
+
+    public PointHistoryJournal(PointHistoryTable pointHistoryTable, PointHistoryIndex historyIndex,
+                               boolean async, int writerCount, int queueCapacity, boolean virtualThreads){
+        this(pointHistoryTable, historyIndex, async, writerCount, queueCapacity, DEFAULT_MAX_RETRIES, virtualThreads);
+    }
+
+    @Autowired
+    public PointHistoryJournal(PointHistoryTable pointHistoryTable, PointHistoryIndex historyIndex,
+                               @Value("${point.history.async:true}") boolean async,
+                               @Value("${point.history.writers:4}") int writerCount,
+                               @Value("${point.history.queue-capacity:10000}") int queueCapacity,
+                               @Value("${point.history.max-retries:10}") int maxRetries,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads){
+        this.pointHistoryTable = pointHistoryTable;
+        this.historyIndex = historyIndex;
+        this.async = async;
+        this.maxRetries = Math.max(0, maxRetries);
+        boolean concurrentStore = isConcurrentStore(pointHistoryTable);
+        this.insertLock = concurrentStore ? null : new ReentrantLock();
+        if(!async){
+            return;
+        }
+        int count = Math.max(1, writerCount);
+        if(!concurrentStore && count > 1){
+            log.warn("포인트 내역 저장소가 동시 추가를 지원하지 않아 writer를 1개로 줄입니다. store={}, writers={}",
+                    pointHistoryTable.getClass().getSimpleName(), count);
+            count = 1;
+        }
+        ThreadFactory threadFactory = PointThreads.factory("point-history-writer-", virtualThreads);
+        for(int i = 0; i < count; i++){
+            BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(queueCapacity);
+            Thread writer = threadFactory.newThread(() -> drain(queue));
+            queues.add(queue);
+            writers.add(writer);
+            writer.start();
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMetrics(PointMetrics metrics){
+        this.metrics = metrics;
+    }
+
+    @Autowired(required = false)
+    public void setSummaryStore(PointSummaryStore summaryStore){
+        this.summaryStore = summaryStore;
+    }
+
+    //내역을 저널에 넣음. 큐가 가득 차 있으면 자리가 날 때까지 기다림 (backpressure)
+    //같은 사용자의 내역 순서를 지키려면 해당 사용자의 쓰기 락을 잡은 상태에서 호출해야 함
+    public void append(long userId, long amount, TransactionType type, long updateMillis){
+        if(!async){
+            saved(insert(userId, amount, type, updateMillis));
+            return;
+        }
+        closeLock.readLock().lock();
+        try{
+            if(closed){
+                throw new IllegalStateException("포인트 내역 저널이 종료되었습니다.");
+            }
+            put(queueOf(userId), new Record(userId, amount, type, updateMillis));
+        }finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    //지금까지 받은 내역이 모두 저장될 때까지 대기
+    public void flush(){
+        flush(Long.MAX_VALUE, TimeUnit.DAYS);
+    }
+
+    //지금까지 받은 내역이 모두 저장될 때까지 최대 timeout 동안 대기 (모두 저장되면 true)
+    public boolean flush(long timeout, TimeUnit unit){
+        if(!async){
+            return true;
+        }
+        if(stopping){
+            throw new IllegalStateException("포인트 내역 저널이 종료되었습니다.");
+        }
+        CountDownLatch latch = new CountDownLatch(queues.size());
+        for(BlockingQueue<Entry> queue : queues){
+            put(queue, new FlushMarker(latch));
+        }
+        try{
+            return latch.await(timeout, unit);
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 내역 저장 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    public int getWriterCount(){
+        return writers.size();
+    }
+
+    public long getDroppedCount(){
+        return droppedCount.get();
+    }
+
+    //애플리케이션 종료 시 새 내역을 막고, 이미 받은 내역을 모두 저장한 뒤 writer 종료
+    @PreDestroy
+    public void close(){
+        if(!async){
+            return;
+        }
+        //진행 중인 append가 큐에 넣기를 마칠 때까지 기다린 뒤 닫음 (이후 append는 예외)
+        closeLock.writeLock().lock();
+        try{
+            if(closed){
+                return;
+            }
+            closed = true;
+        }finally {
+            closeLock.writeLock().unlock();
+        }
+        if(!flush(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)){
+            log.error("종료 전에 포인트 내역을 모두 저장하지 못했습니다.");
+        }
+        stopping = true;
+        writers.forEach(Thread::interrupt);
+        for(Thread writer : writers){
+            try{
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        //writer가 끝내 저장하지 못하고 남긴 내역은 조용히 사라지지 않도록 로그로 남김
+        for(BlockingQueue<Entry> queue : queues){
+            for(Entry entry : queue){
+                if(entry instanceof Record record){
+                    dropped(record, null);
+                }
+            }
+        }
+    }
+
+    private BlockingQueue<Entry> queueOf(long userId){
+        return queues.get(Math.floorMod(Long.hashCode(userId), queues.size()));
+    }
+
+    private void put(BlockingQueue<Entry> queue, Entry entry){
+        try{
+            queue.put(entry);
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("포인트 내역 저장 대기 중 인터럽트가 발생했습니다.", e);
+        }
+    }
+
+    //writer 스레드: 큐에 쌓인 내역을 순서대로 저장
+    private void drain(BlockingQueue<Entry> queue){
+        List<Entry> batch = new ArrayList<>();
+        while(!stopping || !queue.isEmpty()){
+            try{
+                batch.add(queue.take());
+            }catch (InterruptedException e){
+                if(stopping){
+                    break;
+                }
+                continue;
+            }
+            queue.drainTo(batch);
+            for(Entry entry : batch){
+                write(entry);
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(Entry entry){
+        if(entry instanceof FlushMarker marker){
+            marker.latch.countDown();
+            return;
+        }
+        Record record = (Record) entry;
+        for(int attempt = 1; ; attempt++){
+            try{
+                saved(insert(record.userId, record.amount, record.type, record.updateMillis));
+                return;
+            }catch (RuntimeException e){
+                if(attempt > maxRetries || stopping){
+                    //재시도 횟수를 다 썼거나 종료 중이라 더 기다릴 수 없으면 포기
+                    dropped(record, e);
+                    return;
+                }
+                log.warn("포인트 내역 저장 실패, 다시 시도 userId={}, attempt={}", record.userId, attempt, e);
+            }
+            try{
+                TimeUnit.MILLISECONDS.sleep(Math.min(MAX_RETRY_BACKOFF_MILLIS, 10L << Math.min(attempt, 10)));
+            }catch (InterruptedException e){
+                //close()가 깨운 경우 다음 시도에서 종료 여부 확인
+            }
+        }
+    }
+
+    //저장하지 못한 내역을 나중에 다시 넣을 수 있도록 전체 내용을 남김
+    private void dropped(Record record, RuntimeException cause){
+        droppedCount.incrementAndGet();
+        log.error("포인트 내역 저장 포기 userId={}, amount={}, type={}, updateMillis={}",
+                record.userId, record.amount, record.type, record.updateMillis, cause);
+    }
+
+    //저장된 내역을 인덱스와 요약에 반영 (같은 사용자의 내역은 저장된 순서대로 들어옴)
+    private void saved(PointHistory history){
+        historyIndex.append(history);
+        if(summaryStore != null){
+            summaryStore.record(history);
+        }
+    }
+
+    private PointHistory insert(long userId, long amount, TransactionType type, long updateMillis){
+        if(insertLock == null){
+            return metrics.insert(pointHistoryTable, userId, amount, type, updateMillis);
+        }
+        insertLock.lock();
+        try{
+            return metrics.insert(pointHistoryTable, userId, amount, type, updateMillis);
+        }finally {
+            insertLock.unlock();
+        }
+    }
+
+    //여러 스레드가 동시에 insert해도 되는 저장소
+    private static boolean isConcurrentStore(PointHistoryTable pointHistoryTable){
+        return pointHistoryTable instanceof ConcurrentPointHistoryTable || pointHistoryTable instanceof MappedPointHistoryLog;
+    }
+
+    private sealed interface Entry permits Record, FlushMarker {
+    }
+
+    private record Record(long userId, long amount, TransactionType type, long updateMillis) implements Entry {
+    }
+
+    private record FlushMarker(CountDownLatch latch) implements Entry {
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+//커서 기반 내역 조회 결과
+//nextCursor가 null이면 같은 방향으로 더 조회할 내역이 없음
+public record PointHistoryPage(
+        List<PointHistory> items,
+        String nextCursor
+) {
+
+    public boolean hasNext(){
+        return nextCursor != null;
+    }
+}
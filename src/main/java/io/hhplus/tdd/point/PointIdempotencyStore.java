@@ -0,0 +1,158 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+//충전/사용 요청의 Idempotency-Key별 결과 저장소 (메모리, 최대 maxSize건, ttl 동안 보관)
+//같은 키로 다시 들어온 요청은 테이블이나 사용자 락을 거치지 않고 처음 요청의 결과(성공 또는 규칙 위반)를 그대로 돌려주고,
+//처음 요청이 아직 처리 중이면 끝날 때까지 기다린다.
+//처음 요청이 규칙 위반이 아닌 이유(충돌, 저장 실패 등)로 실패하면 결과를 남기지 않아서 같은 키로 다시 시도할 수 있다.
+//키는 사용자마다 따로 관리하므로 다른 사용자가 같은 키를 써도 서로 영향이 없다.
+//처리 중인 항목은 최대 건수를 넘어도 지우지 않는다. (지우면 재시도가 결과를 못 찾고 한 번 더 실행됨)
+@Component
+public class PointIdempotencyStore {
+
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    //들어온 순서 (오래된 항목부터 정리)
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final LongAdder replayCount = new LongAdder();
+
+    public PointIdempotencyStore(){
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL_MILLIS);
+    }
+
+    @Autowired
+    public PointIdempotencyStore(@Value("${point.idempotency.max-size:10000}") int maxSize,
+                                 @Value("${point.idempotency.ttl-millis:600000}") long ttlMillis){
+        this(maxSize, ttlMillis, System::nanoTime);
+    }
+
+    public PointIdempotencyStore(int maxSize, long ttlMillis, LongSupplier clock){
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * 키로 처음 들어온 요청이면 action을 실행하고 결과를 저장, 이미 있는 키면 저장된 결과를 반환.
+     * 같은 키를 다른 사용자/거래 종류/금액에 쓰면 IllegalArgumentException.
+     */
+    public UserPoint execute(String key, long userId, TransactionType type, long amount, Supplier<UserPoint> action){
+        Request request = new Request(userId, type, amount);
+        Key entryKey = new Key(userId, key);
+        long now = clock.getAsLong();
+        Entry created = new Entry(entryKey, request, now);
+        Entry existing = entries.compute(entryKey, (id, current) ->
+                current == null || current.isExpired(now, ttlNanos) ? created : current);
+        if(existing != created){
+            if(!existing.request.equals(request)){
+                throw new IllegalArgumentException("같은 Idempotency-Key를 다른 요청에 사용할 수 없습니다.");
+            }
+            replayCount.increment();
+            return await(existing);
+        }
+
+        order.add(created);
+        evict(now);
+        try{
+            UserPoint result = action.get();
+            created.result.complete(result);
+            return result;
+        }catch (IllegalArgumentException e){
+            //규칙 위반은 다시 보내도 같은 결과이므로 그대로 저장
+            created.result.completeExceptionally(e);
+            throw e;
+        }catch (RuntimeException e){
+            //그 밖의 실패는 다시 시도할 수 있도록 지움 (기다리던 요청에는 같은 예외 전달)
+            entries.remove(entryKey, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    //저장된 결과를 돌려준 횟수
+    public long getReplayCount(){
+        return replayCount.sum();
+    }
+
+    public int size(){
+        return entries.size();
+    }
+
+    private UserPoint await(Entry entry){
+        try{
+            return entry.result.join();
+        }catch (CompletionException e){
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    //만료된 항목과, 최대 개수를 넘은 만큼 오래된 완료 항목부터 제거 (처리 중인 항목은 건너뜀)
+    private void evict(long now){
+        Iterator<Entry> iterator = order.iterator();
+        while(iterator.hasNext()){
+            Entry entry = iterator.next();
+            boolean replaced = entries.get(entry.key) != entry;
+            if(replaced){
+                //실패해서 지워졌거나 만료 후 새 항목으로 바뀐 키
+                iterator.remove();
+                continue;
+            }
+            if(!entry.result.isDone()){
+                continue;
+            }
+            if(entries.size() > maxSize || entry.isExpired(now, ttlNanos)){
+                iterator.remove();
+                entries.remove(entry.key, entry);
+                continue;
+            }
+            //남은 항목은 더 최근이므로 만료되지 않았음
+            return;
+        }
+    }
+
+    private record Key(long userId, String key) {
+    }
+
+    private record Request(long userId, TransactionType type, long amount) {
+    }
+
+    private static final class Entry {
+        private final Key key;
+        private final Request request;
+        private final long createdNanos;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+        private Entry(Key key, Request request, long createdNanos){
+            this.key = key;
+            this.request = request;
+            this.createdNanos = createdNanos;
+        }
+
+        //처리 중인 항목은 만료되지 않음
+        private boolean isExpired(long now, long ttlNanos){
+            return result.isDone() && now - createdNanos > ttlNanos;
+        }
+    }
+}
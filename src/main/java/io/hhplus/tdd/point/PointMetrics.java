@@ -0,0 +1,132 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//포인트 모듈 메트릭 (/actuator/prometheus로 노출)
+//- point.lock.wait / point.lock.hold : 사용자 락 획득 대기 시간, 락을 잡고 있던 시간 (mode=read|write)
+//- point.table.call : 테이블 호출 시간 (table, operation)
+//- point.transactions : 충전/사용 결과 (type, result=success|rejected, reason)
+//- point.lock.live / point.lock.acquires / point.lock.contentions : LockManager 상태
+//요청마다 태그로 미터를 찾지 않도록 모든 미터를 생성 시점에 만들어 두고, 시간은 System.nanoTime 차이로만 기록한다.
+//백분위 히스토그램은 기록할 때마다 버킷을 갱신하므로 코드에서 켜지 않고 management.metrics.distribution.percentiles-histogram으로 미터별로 켠다.
+@Component
+public class PointMetrics {
+
+    //레지스트리가 없는 곳(직접 생성한 서비스, 테스트)에서 쓰는 기록하지 않는 메트릭
+    public static final PointMetrics NOOP = new PointMetrics(new CompositeMeterRegistry());
+
+    private final Timer readLockWait;
+    private final Timer writeLockWait;
+    private final Timer readLockHold;
+    private final Timer writeLockHold;
+    private final Timer userPointSelect;
+    private final Timer userPointUpsert;
+    private final Timer historyInsert;
+    private final Timer historySelect;
+    //[거래 종류][거절 사유]
+    private final Counter[] successes = new Counter[TransactionType.values().length];
+    private final Counter[][] rejections = new Counter[TransactionType.values().length][PointRejectReason.values().length];
+
+    public PointMetrics(MeterRegistry registry){
+        this.readLockWait = timer(registry, "point.lock.wait", "mode", "read");
+        this.writeLockWait = timer(registry, "point.lock.wait", "mode", "write");
+        this.readLockHold = timer(registry, "point.lock.hold", "mode", "read");
+        this.writeLockHold = timer(registry, "point.lock.hold", "mode", "write");
+        this.userPointSelect = timer(registry, "point.table.call", "table", "user_point", "operation", "select_by_id");
+        this.userPointUpsert = timer(registry, "point.table.call", "table", "user_point", "operation", "insert_or_update");
+        this.historyInsert = timer(registry, "point.table.call", "table", "point_history", "operation", "insert");
+        this.historySelect = timer(registry, "point.table.call", "table", "point_history", "operation", "select_all_by_user_id");
+        for(TransactionType type : TransactionType.values()){
+            successes[type.ordinal()] = Counter.builder("point.transactions")
+                    .tags("type", type.name(), "result", "success", "reason", "none")
+                    .register(registry);
+            for(PointRejectReason reason : PointRejectReason.values()){
+                rejections[type.ordinal()][reason.ordinal()] = Counter.builder("point.transactions")
+                        .tags("type", type.name(), "result", "rejected", "reason", reason.getTag())
+                        .register(registry);
+            }
+        }
+    }
+
+    @Autowired
+    public PointMetrics(MeterRegistry registry, LockManager lockManager){
+        this(registry);
+        Gauge.builder("point.lock.live", lockManager, LockManager::getLiveLockCount)
+                .description("메모리에 남아 있는 사용자 락 개수")
+                .register(registry);
+        FunctionCounter.builder("point.lock.acquires", lockManager, LockManager::getAcquireCount)
+                .register(registry);
+        FunctionCounter.builder("point.lock.contentions", lockManager, LockManager::getContentionCount)
+                .register(registry);
+    }
+
+    public void recordLockWait(boolean write, long startNanos){
+        (write ? writeLockWait : readLockWait).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(boolean write, long startNanos){
+        (write ? writeLockHold : readLockHold).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSuccess(TransactionType type){
+        successes[type.ordinal()].increment();
+    }
+
+    public void recordRejection(TransactionType type, RuntimeException e){
+        rejections[type.ordinal()][PointRejectReason.of(e).ordinal()].increment();
+    }
+
+    public UserPoint selectById(UserPointTable userPointTable, long id){
+        long start = System.nanoTime();
+        try{
+            return userPointTable.selectById(id);
+        }finally {
+            userPointSelect.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public UserPoint insertOrUpdate(UserPointTable userPointTable, long id, long point){
+        long start = System.nanoTime();
+        try{
+            return userPointTable.insertOrUpdate(id, point);
+        }finally {
+            userPointUpsert.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public PointHistory insert(PointHistoryTable pointHistoryTable, long userId, long amount, TransactionType type, long updateMillis){
+        long start = System.nanoTime();
+        try{
+            return pointHistoryTable.insert(userId, amount, type, updateMillis);
+        }finally {
+            historyInsert.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public List<PointHistory> selectAllByUserId(PointHistoryTable pointHistoryTable, long userId){
+        long start = System.nanoTime();
+        try{
+            return pointHistoryTable.selectAllByUserId(userId);
+        }finally {
+            historySelect.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String... tags){
+        return Timer.builder(name)
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point;
+
+//포인트 충전/사용 시 잔액 관련 규칙 (최대 보유 포인트, 보유 포인트 초과 사용 금지)
+public final class PointPolicy {
+
+    //사용자가 보유할 수 있는 최대 포인트
+    public static final long MAX_POINT = 100_000L;
+
+    private PointPolicy(){
+    }
+
+    //거래 종류에 맞는 규칙을 적용해서 변경 후 포인트를 반환
+    public static long apply(long currentPoint, TransactionType type, long amount){
+        return switch (type){
+            case CHARGE -> charge(currentPoint, amount);
+            case USE -> use(currentPoint, amount);
+        };
+    }
+
+    public static long charge(long currentPoint, long amount){
+        long updatedPoint = currentPoint + amount;
+        if(updatedPoint > MAX_POINT){
+            throw new PointRejectedException(PointRejectReason.MAX_POINT_EXCEEDED);
+        }
+        return updatedPoint;
+    }
+
+    public static long use(long currentPoint, long amount){
+        if(currentPoint < amount){
+            throw new PointRejectedException(PointRejectReason.INSUFFICIENT_POINT);
+        }
+        return currentPoint - amount;
+    }
+}
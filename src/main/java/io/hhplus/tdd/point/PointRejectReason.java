@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point;
+
+//포인트 충전/사용이 거절되는 사유 (메트릭 태그로 사용)
+public enum PointRejectReason {
+    NOT_ALLOWED_AMOUNT("not_allowed_amount", "허용되지 않는 포인트 금액입니다."),
+    MAX_POINT_EXCEEDED("max_point_exceeded", "사용자가 보유할 수 있는 최대 포인트를 초과했습니다."),
+    INSUFFICIENT_POINT("insufficient_point", "사용자가 보유한 포인트를 초과해서 사용할 수 없습니다."),
+    CONFLICT("conflict", "동시 요청이 많아 포인트를 변경하지 못했습니다. 다시 시도해주세요."),
+    OTHER("other", null);
+
+    private final String tag;
+    private final String message;
+
+    PointRejectReason(String tag, String message){
+        this.tag = tag;
+        this.message = message;
+    }
+
+    //예외 타입으로 사유를 찾음 (사유를 가진 예외가 아니면 OTHER)
+    public static PointRejectReason of(RuntimeException e){
+        if(e instanceof PointRejectedException rejected){
+            return rejected.getReason();
+        }
+        if(e instanceof PointConflictException conflict){
+            return conflict.getReason();
+        }
+        return OTHER;
+    }
+
+    public String getTag(){
+        return tag;
+    }
+
+    public String getMessage(){
+        return message;
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+//포인트 규칙 위반으로 충전/사용이 거절될 때 던지는 예외 (메트릭은 메시지가 아니라 사유로 집계)
+public class PointRejectedException extends IllegalArgumentException {
+
+    private final PointRejectReason reason;
+
+    public PointRejectedException(PointRejectReason reason){
+        super(reason.getMessage());
+        this.reason = reason;
+    }
+
+    public PointRejectReason getReason(){
+        return reason;
+    }
+}
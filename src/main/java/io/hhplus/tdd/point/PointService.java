@@ -2,110 +2,317 @@ package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
-import org.apache.catalina.User;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Service
 public class PointService {
-    
-   private final UserPointTable userPointTable;
-   private final PointHistoryTable pointHistoryTable;
-   private final LockManager lockManager;
 
+   //내역 조회 한 번에 반환하는 최대 건수
+   public static final int MAX_PAGE_SIZE = 1_000;
+   //일괄 처리 한 번에 받는 최대 명령 수
+   public static final int MAX_BULK_COMMANDS = 1_000;
+   //이체를 지원하지 않는 반영 방식(optimistic, mailbox, partitioned)에서 이체를 요청했을 때의 응답 메시지
+   public static final String TRANSFER_NOT_SUPPORTED = "현재 포인트 반영 방식(point.write.mode)에서는 이체를 지원하지 않습니다. locking 또는 batching 방식에서만 사용할 수 있습니다.";
+
+   //포인트 조회/충전/사용을 반영하는 방식 (락 기반, 그룹 커밋, 낙관적)
+   private final PointWriteStrategy writeStrategy;
+   //사용자별 내역 조회용 인덱스
+   private final PointHistoryIndex historyIndex;
+   //일괄 처리 시 사용자별 작업을 병렬로 실행
+   private final PointBulkExecutor bulkExecutor;
+   //충전/사용 성공, 거절 사유별 건수 (주입되지 않으면 기록하지 않음)
+   private PointMetrics metrics = PointMetrics.NOOP;
+   //Idempotency-Key별 처리 결과 (재시도 요청에 처음 결과를 돌려줌)
+   private PointIdempotencyStore idempotencyStore = new PointIdempotencyStore();
+   //사용자별 내역 요약 (주입되지 않으면 조회할 때마다 전체 내역으로 계산)
+   private PointSummaryStore summaryStore;
+
+   //기본 구성 (사용자별 락 + write-through 캐시 + 동기 내역 저장)
    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, LockManager lockManager){
-       this.userPointTable = userPointTable;
-       this.lockManager = lockManager;
-       this.pointHistoryTable = pointHistoryTable;
+       this(userPointTable, lockManager, new PointHistoryIndex(pointHistoryTable), pointHistoryTable);
+   }
+
+   private PointService(UserPointTable userPointTable, LockManager lockManager, PointHistoryIndex historyIndex,
+                        PointHistoryTable pointHistoryTable){
+       this(new LockingPointWriter(userPointTable, new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE),
+               new PointHistoryJournal(pointHistoryTable, historyIndex), lockManager), historyIndex);
+   }
+
+   public PointService(PointWriteStrategy writeStrategy, PointHistoryIndex historyIndex){
+       //Spring 밖에서 만들 때는 서비스마다 스레드 풀을 만들지 않고 공유 실행기 사용
+       this(writeStrategy, historyIndex, PointBulkExecutor.shared());
+   }
+
+   @Autowired
+   public PointService(PointWriteStrategy writeStrategy, PointHistoryIndex historyIndex, PointBulkExecutor bulkExecutor){
+       this.writeStrategy = writeStrategy;
+       this.historyIndex = historyIndex;
+       this.bulkExecutor = bulkExecutor;
+   }
+
+   @Autowired(required = false)
+   public void setMetrics(PointMetrics metrics){
+       this.metrics = metrics;
+   }
+
+   @Autowired(required = false)
+   public void setIdempotencyStore(PointIdempotencyStore idempotencyStore){
+       this.idempotencyStore = idempotencyStore;
+   }
+
+   @Autowired(required = false)
+   public void setSummaryStore(PointSummaryStore summaryStore){
+       this.summaryStore = summaryStore;
    }
 
     //포인트 조회
     public UserPoint getUserPoint(Long id){
-        //사용자별 읽기 락을 가져옴
-        ReentrantReadWriteLock lock = lockManager.getLock(id);
-        lock.readLock().lock(); //읽기 락 획득
-        try{
-            return userPointTable.selectById(id);
-        }finally{
-            lock.readLock().unlock(); //읽기락 해제
-        }
+        return writeStrategy.read(id);
     }
 
-    //포인트 충전
-    public void chargePoints(Long id, long amount){
-
-        //조건 1 : 적립 가능한 포인트 금액 검증
-        if(!AllowedAmount.getAllowedValues().contains(amount)){
-            throw new IllegalArgumentException("허용되지 않는 포인트 금액입니다.");
+    //포인트 충전 (idempotencyKey가 있으면 같은 키의 재시도에 처음 결과를 그대로 반환)
+    public UserPoint chargePoints(Long id, long amount, String idempotencyKey){
+        if(idempotencyKey == null || idempotencyKey.isBlank()){
+            return chargePoints(id, amount);
         }
+        return idempotencyStore.execute(idempotencyKey, id, TransactionType.CHARGE, amount, () -> chargePoints(id, amount));
+    }
 
-        ReentrantReadWriteLock lock = lockManager.getLock(id);
-        lock.writeLock().lock();
+    //포인트 충전
+    public UserPoint chargePoints(Long id, long amount){
         try{
-            //기존 포인트 가져오기
-            UserPoint currentPoint = userPointTable.selectById(id);
-            
-            //포인트 충전
-            long updatedPoint = currentPoint.point() + amount;
-
-            //조건 2 : 최대 보유 가능 포인트 검증
-            if(updatedPoint > 100000L){
-                throw new IllegalArgumentException("사용자가 보유할 수 있는 최대 포인트를 초과했습니다.");
+            //조건 1 : 적립 가능한 포인트 금액 검증
+            if(!AllowedAmount.isChargeAllowed(amount)){
+                throw new PointRejectedException(PointRejectReason.NOT_ALLOWED_AMOUNT);
             }
 
-            //UserPointTable 업데이트
-            userPointTable.insertOrUpdate(id,updatedPoint);
+            //조건 2 : 최대 보유 가능 포인트 검증은 반영 시점에 수행
+            UserPoint charged = writeStrategy.apply(id, TransactionType.CHARGE, amount);
+            metrics.recordSuccess(TransactionType.CHARGE);
+            return charged;
+        }catch (IllegalArgumentException | IllegalStateException e){
+            metrics.recordRejection(TransactionType.CHARGE, e);
+            throw e;
+        }
+    }
 
-            //PointHistoryTable에 내역 저장
-            pointHistoryTable.insert(id,amount,TransactionType.CHARGE,System.currentTimeMillis());
-        }finally {
-            lock.writeLock().unlock();
+    //포인트 사용 (idempotencyKey가 있으면 같은 키의 재시도에 처음 결과를 그대로 반환)
+    public UserPoint usePoints(Long id, long amount, String idempotencyKey){
+        if(idempotencyKey == null || idempotencyKey.isBlank()){
+            return usePoints(id, amount);
         }
+        return idempotencyStore.execute(idempotencyKey, id, TransactionType.USE, amount, () -> usePoints(id, amount));
     }
 
     //포인트 사용
-    public void usePoints(Long id, long amount){
-        //조건 1. 한 번에 100, 200, 300 포인트만 사용 가능 (네이버 쿠키 방식 차용)
-        if(!AllowedAmount.getAllowedValues().contains(amount)){
-            throw new IllegalArgumentException("허용되지 않는 포인트 금액입니다.");
+    public UserPoint usePoints(Long id, long amount){
+        try{
+            //조건 1. 한 번에 100, 200, 300 포인트만 사용 가능 (네이버 쿠키 방식 차용)
+            if(!AllowedAmount.isUseAllowed(amount)){
+                throw new PointRejectedException(PointRejectReason.NOT_ALLOWED_AMOUNT);
+            }
+
+            //조건 2. 보유한 포인트보다 더 많이 사용할 수 없음 (반영 시점에 검증)
+            UserPoint used = writeStrategy.apply(id, TransactionType.USE, amount);
+            metrics.recordSuccess(TransactionType.USE);
+            return used;
+        }catch (IllegalArgumentException | IllegalStateException e){
+            metrics.recordRejection(TransactionType.USE, e);
+            throw e;
         }
+    }
 
-        ReentrantReadWriteLock lock = lockManager.getLock(id);
-        lock.writeLock().lock();
-        try{
-            UserPoint currentPoint = userPointTable.selectById(id);
+    //포인트 조회 (비동기, 반영 방식이 executor 또는 자체 대기열에서 처리)
+    public CompletableFuture<UserPoint> getUserPointAsync(long id, Executor executor){
+        return writeStrategy.readAsync(id, executor);
+    }
+
+    //포인트 충전 (비동기, 금액 검증은 호출한 스레드에서 하고 반영은 반영 방식이 executor 또는 자체 대기열에서 처리)
+    public CompletableFuture<UserPoint> chargePointsAsync(long id, long amount, Executor executor){
+        return applyAsync(id, TransactionType.CHARGE, amount, AllowedAmount.isChargeAllowed(amount), executor);
+    }
+
+    //포인트 사용 (비동기)
+    public CompletableFuture<UserPoint> usePointsAsync(long id, long amount, Executor executor){
+        return applyAsync(id, TransactionType.USE, amount, AllowedAmount.isUseAllowed(amount), executor);
+    }
 
-            //조건 2. 보유한 포인트보다 더 많이 사용할 수 없음
-            if(currentPoint.point()<amount){
-                throw new IllegalArgumentException("사용자가 보유한 포인트를 초과해서 사용할 수 없습니다.");
+    //시간 초과/취소로 future가 먼저 끝나면 아직 시작하지 않은 작업은 실행되지 않도록, 반영 방식이 준 future를 그대로 반환
+    private CompletableFuture<UserPoint> applyAsync(long id, TransactionType type, long amount, boolean allowed, Executor executor){
+        if(!allowed){
+            PointRejectedException rejected = new PointRejectedException(PointRejectReason.NOT_ALLOWED_AMOUNT);
+            metrics.recordRejection(type, rejected);
+            return CompletableFuture.failedFuture(rejected);
+        }
+        CompletableFuture<UserPoint> result = writeStrategy.applyAsync(id, type, amount, executor);
+        result.whenComplete((userPoint, e) -> {
+            if(e == null){
+                metrics.recordSuccess(type);
+                return;
             }
-            //포인트 사용
-            long updatedPoint = currentPoint.point()-amount;
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if(cause instanceof IllegalArgumentException || cause instanceof IllegalStateException){
+                metrics.recordRejection(type, (RuntimeException) cause);
+            }
+        });
+        return result;
+    }
 
-            //UserPointTable 업데이트
-            userPointTable.insertOrUpdate(id,updatedPoint);
+    public boolean isTransferSupported(){
+        return writeStrategy.supportsTransfer();
+    }
 
-            //PointHistoryTable 업데이트
-            pointHistoryTable.insert(id,amount,TransactionType.USE,System.currentTimeMillis());
-        }finally {
-            lock.writeLock().unlock();
+    //포인트 이체 (보낸 사용자의 사용과 받은 사용자의 충전을 한 번에 반영)
+    //지원하지 않는 반영 방식이면 금액 검증보다 먼저 UnsupportedOperationException (ApiControllerAdvice에서 501로 응답)
+    public PointTransferResult transfer(Long fromId, Long toId, long amount){
+        if(!writeStrategy.supportsTransfer()){
+            throw new UnsupportedOperationException(TRANSFER_NOT_SUPPORTED);
+        }
+        //보낸 사용자 기준 사용이므로 사용 가능한 금액만 허용
+        if(!AllowedAmount.isUseAllowed(amount)){
+            throw new PointRejectedException(PointRejectReason.NOT_ALLOWED_AMOUNT);
+        }
+        if(fromId.equals(toId)){
+            throw new IllegalArgumentException("같은 사용자에게 이체할 수 없습니다.");
         }
+        return writeStrategy.transfer(fromId, toId, amount);
+    }
 
+    //여러 사용자의 충전/사용 명령을 일괄 처리
+    //같은 사용자의 명령은 들어온 순서대로 하나씩, 서로 다른 사용자는 병렬로 실행하고 명령마다 결과(성공 또는 사유)를 반환
+    public List<PointCommandResult> applyBulk(List<PointCommand> commands){
+        if(commands.size() > MAX_BULK_COMMANDS){
+            throw new IllegalArgumentException("일괄 처리는 한 번에 " + MAX_BULK_COMMANDS + "건까지 가능합니다.");
+        }
+        //사용자별로 명령 위치를 모음 (처음 등장한 순서 유지)
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for(int i = 0; i < commands.size(); i++){
+            indexesByUser.computeIfAbsent(commands.get(i).userId(), key -> new ArrayList<>()).add(i);
+        }
+
+        PointCommandResult[] results = new PointCommandResult[commands.size()];
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(indexesByUser.size());
+        for(List<Integer> indexes : indexesByUser.values()){
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for(int index : indexes){
+                    results[index] = apply(commands.get(index));
+                }
+            }, bulkExecutor));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        return Arrays.asList(results);
+    }
+
+    private PointCommandResult apply(PointCommand command){
+        if(command.type() == null){
+            return PointCommandResult.failure(command, "거래 종류가 없습니다.");
+        }
+        try{
+            UserPoint userPoint = command.type() == TransactionType.CHARGE
+                    ? chargePoints(command.userId(), command.amount())
+                    : usePoints(command.userId(), command.amount());
+            return PointCommandResult.success(command, userPoint);
+        }catch (IllegalArgumentException | IllegalStateException e){
+            return PointCommandResult.failure(command, e.getMessage());
+        }
     }
 
     //포인트 사용 내역 조회
     public List<PointHistory>getUserPointHistory(Long id, int startIndex, int pageSize){
-        return pointHistoryTable.selectAllByUserId(id).stream()
-                .sorted(Comparator.comparing(PointHistory::updateMillis).reversed()) //최신순 정렬
-                .skip(startIndex) //조회되는 데이터가 많을 때 페이징 처리 : 시작 인덱스 건너뜀
-                .limit(pageSize) // 한 페이지 크기 제한
-                .toList(); //결과를 리스트로 변환
+        if(startIndex < 0 || pageSize < 0 || pageSize > MAX_PAGE_SIZE){
+            throw new IllegalArgumentException("페이지 정보가 올바르지 않습니다.");
+        }
+        //사용자별 인덱스는 저장 순서대로 쌓여 있으므로, 뒤에서부터 pageSize만큼 잘라서 최신순으로 반환
+        return historyIndex.findLatest(id, startIndex, pageSize);
+    }
+
+    //커서 기반 내역 조회
+    //cursor가 없으면 가장 최신 내역부터, BEFORE 커서는 더 오래된 내역을 최신순으로, AFTER 커서는 더 새로운 내역을 오래된 순으로 반환
+    public PointHistoryPage getUserPointHistory(Long id, HistoryCursor cursor, int pageSize){
+        if(pageSize <= 0 || pageSize > MAX_PAGE_SIZE){
+            throw new IllegalArgumentException("페이지 정보가 올바르지 않습니다.");
+        }
+        HistoryCursor current = cursor == null ? HistoryCursor.before(Long.MAX_VALUE) : cursor;
+
+        //다음 페이지가 있는지 확인하기 위해 한 건 더 조회
+        List<PointHistory> fetched = current.direction() == HistoryCursor.Direction.BEFORE
+                ? historyIndex.findBefore(id, current.id(), pageSize + 1)
+                : historyIndex.findAfter(id, current.id(), pageSize + 1);
+        if(fetched.size() <= pageSize){
+            return new PointHistoryPage(fetched, null);
+        }
+
+        List<PointHistory> items = fetched.subList(0, pageSize);
+        long lastId = items.get(pageSize - 1).id();
+        HistoryCursor next = current.direction() == HistoryCursor.Direction.BEFORE
+                ? HistoryCursor.before(lastId)
+                : HistoryCursor.after(lastId);
+        return new PointHistoryPage(items, next.encode());
+    }
+
+    //사용자별 내역 요약 (총 충전/사용 포인트, 건수, 마지막 거래 시각, 일자별 집계)
+    public PointSummary getUserPointSummary(Long id){
+        if(summaryStore == null){
+            return PointSummaryStore.recompute(id, historyIndex.findAll(id));
+        }
+        return summaryStore.get(id);
+    }
+
+    //전체 내역으로 요약을 다시 계산하고 요약이 있는 사용자 수를 반환
+    public int rebuildPointSummaries(){
+        if(summaryStore == null){
+            throw new IllegalStateException("포인트 요약 저장소를 사용하지 않습니다.");
+        }
+        return summaryStore.rebuild();
     }
 
+    //특정 사용자의 전체 내역을 오래된 순으로 out에 바로 씀 (인덱스의 배열을 그대로 읽고 목록을 복사하지 않음)
+    public void exportUserPointHistory(Long id, HistoryExportFormat format, OutputStream out) throws IOException {
+        Writer writer = exportWriter(out);
+        format.writeHeader(writer);
+        for(PointHistory history : historyIndex.findAll(id)){
+            format.write(writer, history);
+        }
+        writer.flush();
+    }
+
+    //전체 사용자의 내역을 out에 바로 씀
+    public void exportAllPointHistory(HistoryExportFormat format, OutputStream out) throws IOException {
+        Writer writer = exportWriter(out);
+        format.writeHeader(writer);
+        try{
+            historyIndex.forEachHistory(history -> {
+                try{
+                    format.write(writer, history);
+                }catch (IOException e){
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }catch (UncheckedIOException e){
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    //버퍼가 찰 때마다 응답으로 내보내므로 메모리 사용량은 내역 수와 무관
+    private Writer exportWriter(OutputStream out){
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 13);
+    }
 }
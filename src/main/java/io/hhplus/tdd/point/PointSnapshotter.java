@@ -0,0 +1,147 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.database.PointSnapshotStore;
+import io.hhplus.tdd.database.PrimitiveUserPointStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+//잔액 스냅샷 + 내역 재생으로 재시작 시 잔액을 복구 (point.history.store=mapped 일 때만 사용)
+//내역 로그를 따라가며 별도의 잔액 사본(balances)을 만들고, 주기적으로 그 사본을 스냅샷 파일로 저장한다.
+//충전/사용 경로는 이 사본을 건드리지 않으므로 스냅샷을 저장하는 동안에도 막히지 않는다.
+//시작할 때는 가장 최신 스냅샷을 읽고, 그 이후의 내역만 재생해서 UserPointCache에 넘긴다.
+//사용자마다 UserPointTable에 저장하면(호출당 최대 300ms) 시작 시간이 사용자 수에 비례하므로, 테이블 저장은 각 사용자의 다음 충전/사용으로 미룬다.
+@Component
+@ConditionalOnProperty(name = "point.history.store", havingValue = "mapped")
+public class PointSnapshotter {
+
+    private static final Logger log = LoggerFactory.getLogger(PointSnapshotter.class);
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final MappedPointHistoryLog historyLog;
+    private final UserPointCache userPointCache;
+    private final PointSnapshotStore snapshotStore;
+    private final long intervalMillis;
+    private ScheduledExecutorService scheduler;
+
+    //사본 갱신과 스냅샷 저장은 한 번에 하나씩
+    private final ReentrantLock lock = new ReentrantLock();
+    private PrimitiveUserPointStore balances = new PrimitiveUserPointStore(INITIAL_CAPACITY, false);
+    private long lastAppliedId;
+    private long lastSnapshotId;
+
+    @Autowired
+    public PointSnapshotter(MappedPointHistoryLog historyLog, UserPointCache userPointCache,
+                            @Value("${point.snapshot.directory:data/snapshot}") String directory,
+                            @Value("${point.snapshot.retain:2}") int retain,
+                            @Value("${point.snapshot.interval-millis:60000}") long intervalMillis){
+        this(historyLog, userPointCache, new PointSnapshotStore(Paths.get(directory), retain), intervalMillis);
+    }
+
+    public PointSnapshotter(MappedPointHistoryLog historyLog, UserPointCache userPointCache,
+                            PointSnapshotStore snapshotStore, long intervalMillis){
+        this.historyLog = historyLog;
+        this.userPointCache = userPointCache;
+        this.snapshotStore = snapshotStore;
+        this.intervalMillis = intervalMillis;
+    }
+
+    //최신 스냅샷 + 이후 내역으로 잔액을 복구하고, 주기적인 스냅샷 시작 (요청을 받기 전에 실행됨)
+    @PostConstruct
+    public void restore(){
+        lock.lock();
+        try{
+            Optional<PointSnapshotStore.Snapshot> snapshot = snapshotStore.loadLatest(INITIAL_CAPACITY, false);
+            snapshot.ifPresent(loaded -> {
+                balances = loaded.balances();
+                lastAppliedId = loaded.lastHistoryId();
+                lastSnapshotId = loaded.lastHistoryId();
+            });
+            long replayed = catchUp();
+            //사본은 이후 내역으로 계속 바뀌므로 복사해서 넘김 (메모리 안에서만 복사하므로 테이블 지연 없음)
+            PrimitiveUserPointStore restored = new PrimitiveUserPointStore(Math.max(INITIAL_CAPACITY, balances.size()), false);
+            balances.forEach(restored::put);
+            userPointCache.restore(restored);
+            log.info("포인트 잔액 복구 완료 users={}, snapshotId={}, replayed={}", balances.size(), lastSnapshotId, replayed);
+        }finally {
+            lock.unlock();
+        }
+        if(intervalMillis > 0){
+            scheduler = Executors.newSingleThreadScheduledExecutor(PointThreads.factory("point-snapshot-", false));
+            scheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    //지금까지 로그에 쌓인 내역을 반영한 스냅샷 저장 (새 내역이 없으면 건너뜀)
+    public void snapshot() throws IOException {
+        lock.lock();
+        try{
+            catchUp();
+            if(lastAppliedId == lastSnapshotId){
+                return;
+            }
+            //스냅샷이 디스크의 로그보다 앞서지 않도록, 반영한 내역을 먼저 디스크에 기록
+            historyLog.sync();
+            snapshotStore.write(lastAppliedId, balances);
+            lastSnapshotId = lastAppliedId;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    public long getLastSnapshotId(){
+        return lastSnapshotId;
+    }
+
+    //종료할 때 마지막 스냅샷을 남김 (로그보다 먼저 종료됨)
+    @PreDestroy
+    public void close(){
+        if(scheduler != null){
+            scheduler.shutdownNow();
+        }
+        snapshotQuietly();
+    }
+
+    private void snapshotQuietly(){
+        try{
+            snapshot();
+        }catch (IOException | RuntimeException e){
+            log.error("포인트 스냅샷 저장 실패 lastAppliedId={}", lastAppliedId, e);
+        }
+    }
+
+    //lastAppliedId 이후 내역을 사본에 반영하고 반영한 건수를 반환 (복사 없이 매핑된 로그를 바로 읽음)
+    private long catchUp(){
+        long from = lastAppliedId + 1;
+        for(ByteBuffer view : historyLog.readRange(from, historyLog.getLastId())){
+            int count = view.remaining() / MappedPointHistoryLog.RECORD_BYTES;
+            for(int i = 0; i < count; i++){
+                apply(MappedPointHistoryLog.decode(view, i));
+            }
+        }
+        return lastAppliedId - from + 1;
+    }
+
+    private void apply(PointHistory history){
+        UserPoint current = balances.find(history.userId());
+        long point = current == null ? 0 : current.point();
+        point = history.type() == TransactionType.CHARGE ? point + history.amount() : point - history.amount();
+        balances.put(history.userId(), point, history.updateMillis());
+        lastAppliedId = history.id();
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point;
+
+import java.time.LocalDate;
+import java.util.List;
+
+//사용자별 포인트 내역 요약 (총 충전/사용 포인트, 건수, 마지막 거래 시각, 일자별 집계)
+//lastActivityMillis가 0이면 거래가 없음, days는 오래된 날짜부터 (일자별 집계를 사용하지 않으면 빈 목록)
+public record PointSummary(
+        long userId,
+        long totalCharged,
+        long totalUsed,
+        long chargeCount,
+        long useCount,
+        long lastActivityMillis,
+        List<Day> days
+) {
+
+    public static PointSummary empty(long userId){
+        return new PointSummary(userId, 0, 0, 0, 0, 0, List.of());
+    }
+
+    public record Day(
+            LocalDate date,
+            long charged,
+            long used,
+            long chargeCount,
+            long useCount
+    ) {
+    }
+}
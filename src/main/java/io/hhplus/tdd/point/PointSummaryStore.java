@@ -0,0 +1,211 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//사용자별 포인트 내역 요약 저장소 (메모리)
+//내역이 저널에 들어올 때마다 사용자별 합계를 바로 갱신하므로, 요약 조회는 내역 수와 관계없이 사용자 한 명의 값만 복사한다.
+//일자별 집계는 사용자마다 거래가 있었던 날 중 가장 최근 maxDays일만 보관하고 (거래 없는 날은 세지 않음), 내역 저장소에서 전체를 다시 계산하는 rebuild로 언제든 다시 만들 수 있다.
+//요약은 내역이 저장된 뒤에 반영되므로 아직 저장 중인 내역은 요약에도 없다.
+@Component
+public class PointSummaryStore {
+
+    public static final int DEFAULT_MAX_DAYS = 30;
+
+    private final PointHistoryIndex historyIndex;
+    //false면 일자별 집계를 만들지 않음
+    private final boolean dailyBuckets;
+    private final int maxDays;
+    private final ZoneId zone;
+    private volatile ConcurrentHashMap<Long, Rollup> rollups = new ConcurrentHashMap<>();
+    //record끼리는 read 락으로 동시에, rebuild의 시작/교체는 write 락으로 record와 겹치지 않게
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    //rebuild끼리는 하나씩 (전체 읽기가 오래 걸려도 가상 스레드를 carrier에 고정하지 않도록 ReentrantLock)
+    private final ReentrantLock rebuildMutex = new ReentrantLock();
+    //rebuild 중에 반영된 내역 (rebuild가 끝날 때 새 요약에 다시 반영, rebuild 중이 아니면 null)
+    private List<PointHistory> arrivedDuringRebuild;
+
+    public PointSummaryStore(PointHistoryIndex historyIndex){
+        this(historyIndex, true, DEFAULT_MAX_DAYS, ZoneId.systemDefault());
+    }
+
+    @Autowired
+    public PointSummaryStore(PointHistoryIndex historyIndex,
+                             @Value("${point.summary.daily-buckets:true}") boolean dailyBuckets,
+                             @Value("${point.summary.max-days:30}") int maxDays,
+                             @Value("${point.summary.zone:}") String zone){
+        this(historyIndex, dailyBuckets, maxDays, zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone));
+    }
+
+    public PointSummaryStore(PointHistoryIndex historyIndex, boolean dailyBuckets, int maxDays, ZoneId zone){
+        this.historyIndex = historyIndex;
+        this.dailyBuckets = dailyBuckets;
+        this.maxDays = Math.max(1, maxDays);
+        this.zone = zone;
+    }
+
+    //저널이 내역을 저장한 뒤에 호출 (충전/사용/이체가 반영된 경우에만 내역이 생김)
+    //같은 사용자의 내역은 저장된 순서대로 호출되어야 하고, 이미 반영된 ID 이하의 내역은 건너뜀
+    //(rebuild 전에 저장된 내역의 record가 rebuild 교체 뒤에 도착해도 두 번 더하지 않음)
+    public void record(PointHistory history){
+        rebuildLock.readLock().lock();
+        try{
+            rollups.computeIfAbsent(history.userId(), id -> new Rollup()).add(history, dailyBuckets, maxDays, zone);
+            List<PointHistory> arrived = arrivedDuringRebuild;
+            if(arrived != null){
+                synchronized (arrived){
+                    arrived.add(history);
+                }
+            }
+        }finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    public PointSummary get(long userId){
+        Rollup rollup = rollups.get(userId);
+        return rollup == null ? PointSummary.empty(userId) : rollup.toSummary(userId);
+    }
+
+    //재시작 시 남아 있는 내역(mapped 저장소)으로 요약 복구
+    @PostConstruct
+    public void restore(){
+        rebuild();
+    }
+
+    //내역 저장소의 전체 내역으로 요약을 다시 만들고 교체한 뒤 사용자 수를 반환 (운영 중 재계산)
+    //다시 계산하는 동안에도 쓰기는 막지 않고, 그 사이 record된 내역을 모아 두었다가 교체 직전에 새 요약에 다시 반영한다.
+    //전체 읽기에 이미 포함된 내역은 사용자별 마지막 내역 ID로 걸러서 두 번 더하지 않음
+    //(같은 사용자의 내역은 ID 순서대로 저장되므로 전체 읽기에는 사용자마다 앞쪽 내역만 빠짐없이 들어 있음)
+    public int rebuild(){
+        rebuildMutex.lock();
+        try{
+            return rebuildExclusively();
+        }finally {
+            rebuildMutex.unlock();
+        }
+    }
+
+    private int rebuildExclusively(){
+        List<PointHistory> arrived = new ArrayList<>();
+        rebuildLock.writeLock().lock();
+        try{
+            //이 시점 이전에 record된 내역은 모두 저장이 끝났으므로 아래 전체 읽기에 포함됨
+            arrivedDuringRebuild = arrived;
+        }finally {
+            rebuildLock.writeLock().unlock();
+        }
+        ConcurrentHashMap<Long, Rollup> rebuilt = new ConcurrentHashMap<>();
+        try{
+            historyIndex.forEachHistory(history -> rebuilt.computeIfAbsent(history.userId(), id -> new Rollup())
+                    .add(history, dailyBuckets, maxDays, zone));
+        }catch (RuntimeException e){
+            rebuildLock.writeLock().lock();
+            try{
+                arrivedDuringRebuild = null;
+            }finally {
+                rebuildLock.writeLock().unlock();
+            }
+            throw e;
+        }
+        rebuildLock.writeLock().lock();
+        try{
+            for(PointHistory history : arrived){
+                rebuilt.computeIfAbsent(history.userId(), id -> new Rollup()).add(history, dailyBuckets, maxDays, zone);
+            }
+            arrivedDuringRebuild = null;
+            rollups = rebuilt;
+        }finally {
+            rebuildLock.writeLock().unlock();
+        }
+        return rebuilt.size();
+    }
+
+    //한 사용자의 내역 전체를 처음부터 다시 접어서 계산 (저장된 요약 검증용, 기본 설정)
+    public static PointSummary recompute(long userId, List<PointHistory> histories){
+        return recompute(userId, histories, true, DEFAULT_MAX_DAYS, ZoneId.systemDefault());
+    }
+
+    public static PointSummary recompute(long userId, List<PointHistory> histories, boolean dailyBuckets, int maxDays, ZoneId zone){
+        if(histories.isEmpty()){
+            return PointSummary.empty(userId);
+        }
+        Rollup rollup = new Rollup();
+        for(PointHistory history : histories){
+            rollup.add(history, dailyBuckets, Math.max(1, maxDays), zone);
+        }
+        return rollup.toSummary(userId);
+    }
+
+    //요약이 있는 사용자 수
+    public int size(){
+        return rollups.size();
+    }
+
+    //한 사용자의 합계 (같은 사용자의 갱신/조회끼리만 잠금)
+    private static final class Rollup {
+        private long totalCharged;
+        private long totalUsed;
+        private long chargeCount;
+        private long useCount;
+        private long lastActivityMillis;
+        //마지막으로 더한 내역 ID (이 ID 이하의 내역은 이미 반영됨)
+        private long lastHistoryId;
+        //epoch day -> [충전 포인트, 사용 포인트, 충전 건수, 사용 건수]
+        private final TreeMap<Long, long[]> days = new TreeMap<>();
+
+        private synchronized void add(PointHistory history, boolean dailyBuckets, int maxDays, ZoneId zone){
+            if(history.id() <= lastHistoryId){
+                return;
+            }
+            lastHistoryId = history.id();
+            long amount = history.amount();
+            long updateMillis = history.updateMillis();
+            boolean charge = history.type() == TransactionType.CHARGE;
+            if(charge){
+                totalCharged += amount;
+                chargeCount++;
+            }else{
+                totalUsed += amount;
+                useCount++;
+            }
+            lastActivityMillis = Math.max(lastActivityMillis, updateMillis);
+            if(!dailyBuckets){
+                return;
+            }
+            long epochDay = Instant.ofEpochMilli(updateMillis).atZone(zone).toLocalDate().toEpochDay();
+            //보관 중인 가장 오래된 날보다 앞선 날짜의 내역은 일자별 집계에서 제외
+            if(days.size() >= maxDays && !days.containsKey(epochDay) && epochDay < days.firstKey()){
+                return;
+            }
+            long[] day = days.computeIfAbsent(epochDay, key -> new long[4]);
+            day[charge ? 0 : 1] += amount;
+            day[charge ? 2 : 3]++;
+            while(days.size() > maxDays){
+                days.pollFirstEntry();
+            }
+        }
+
+        private synchronized PointSummary toSummary(long userId){
+            List<PointSummary.Day> summaryDays = new ArrayList<>(days.size());
+            for(Map.Entry<Long, long[]> entry : days.entrySet()){
+                long[] day = entry.getValue();
+                summaryDays.add(new PointSummary.Day(LocalDate.ofEpochDay(entry.getKey()), day[0], day[1], day[2], day[3]));
+            }
+            return new PointSummary(userId, totalCharged, totalUsed, chargeCount, useCount, lastActivityMillis, summaryDays);
+        }
+    }
+}
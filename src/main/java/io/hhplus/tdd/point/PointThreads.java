@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//포인트 모듈 내부에서 쓰는 스레드 생성기
+//spring.threads.virtual.enabled=true 이고 Java 21 이상에서 실행하면 가상 스레드를, 아니면 데몬 플랫폼 스레드를 만든다.
+public final class PointThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(PointThreads.class);
+
+    private PointThreads(){
+    }
+
+    public static ThreadFactory factory(String namePrefix, boolean virtual){
+        if(virtual){
+            try{
+                return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+            }catch (UnsupportedOperationException e){
+                log.warn("가상 스레드를 지원하지 않는 런타임이라 플랫폼 스레드를 사용합니다. prefix={}", namePrefix);
+            }
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,9 @@
+package io.hhplus.tdd.point;
+
+//포인트 이체 요청
+public record PointTransfer(
+        long fromId,
+        long toId,
+        long amount
+) {
+}
@@ -0,0 +1,8 @@
+package io.hhplus.tdd.point;
+
+//포인트 이체 결과 (이체 후 보낸 사용자/받은 사용자의 포인트)
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to
+) {
+}
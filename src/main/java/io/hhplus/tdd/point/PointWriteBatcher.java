@@ -0,0 +1,159 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+//같은 사용자의 충전/사용 요청을 모아서 한 번에 반영하는 그룹 커밋 컴포넌트
+//대기열에 먼저 들어온 요청 중 하나가 리더가 되어, 쌓인 요청을 순서대로 적용하고 최종 잔액만 한 번 저장한다.
+//조회는 LockingPointWriter와 같이 읽기 락을 잡고 캐시/테이블에서 읽는다.
+@Component
+@ConditionalOnProperty(name = "point.write.mode", havingValue = "batching")
+public class PointWriteBatcher extends LockingPointWriter {
+
+    //리더가 깨워주지 못한 경우를 대비한 최대 대기 시간
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final int maxBatchSize;
+
+    //사용자별 대기열
+    private final ConcurrentHashMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    public PointWriteBatcher(UserPointTable userPointTable, UserPointCache userPointCache, PointHistoryJournal historyJournal,
+                             LockManager lockManager, @Value("${point.write.max-batch-size:64}") int maxBatchSize){
+        super(userPointTable, userPointCache, historyJournal, lockManager);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    //요청을 대기열에 넣고, 자신의 요청이 반영될 때까지 기다린 뒤 결과(또는 거절 사유)를 돌려줌
+    @Override
+    public UserPoint apply(long id, TransactionType type, long amount){
+        Lane lane = lanes.computeIfAbsent(id, Lane::new);
+        PendingCommand command = new PendingCommand(type, amount, Thread.currentThread());
+        lane.queue.add(command);
+
+        while(!command.isDone()){
+            if(lane.leader.compareAndSet(false, true)){
+                try{
+                    commitBatch(lane);
+                }finally {
+                    lane.leader.set(false);
+                }
+                //남은 요청이 있으면 다음 대기자를 깨워서 리더를 넘김
+                PendingCommand next = lane.queue.peek();
+                if(next != null){
+                    LockSupport.unpark(next.waiter);
+                }
+            }else{
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+        }
+
+        //더 이상 대기 중인 요청이 없으면 대기열 정리
+        if(lane.queue.isEmpty()){
+            lanes.remove(id, lane);
+        }
+        return command.result();
+    }
+
+    //대기열에서 최대 maxBatchSize 개의 요청을 꺼내 순서대로 적용
+    private void commitBatch(Lane lane){
+        List<PendingCommand> batch = new ArrayList<>();
+        PendingCommand polled;
+        while(batch.size() < maxBatchSize && (polled = lane.queue.poll()) != null){
+            batch.add(polled);
+        }
+        if(batch.isEmpty()){
+            return;
+        }
+
+        //다른 경로(조회, 다른 대기열)와의 충돌을 막기 위해 배치 단위로 쓰기 락을 잡음
+        ReentrantReadWriteLock lock = lockManager.getLock(lane.userId);
+        long waitStart = System.nanoTime();
+        lock.writeLock().lock();
+        long holdStart = System.nanoTime();
+        metrics.recordLockWait(true, waitStart);
+        try{
+            long point = userPointCache.getOrLoad(lane.userId, this::selectById).point();
+
+            //요청마다 규칙을 검증하고, 통과한 요청만 누적 잔액에 반영
+            List<PendingCommand> accepted = new ArrayList<>(batch.size());
+            for(PendingCommand command : batch){
+                try{
+                    point = PointPolicy.apply(point, command.type, command.amount);
+                    command.balance = point;
+                    accepted.add(command);
+                }catch (IllegalArgumentException e){
+                    command.completeExceptionally(e);
+                }
+            }
+            if(accepted.isEmpty()){
+                return;
+            }
+
+            //최종 잔액만 한 번 저장
+            UserPoint saved = metrics.insertOrUpdate(userPointTable, lane.userId, point);
+            userPointCache.put(lane.userId, saved);
+
+            for(PendingCommand command : accepted){
+                historyJournal.append(lane.userId, command.amount, command.type, saved.updateMillis());
+                command.complete(new UserPoint(lane.userId, command.balance, saved.updateMillis()));
+            }
+        }catch (RuntimeException e){
+            //저장 중 실패하면 아직 응답하지 못한 요청을 모두 실패 처리
+            for(PendingCommand command : batch){
+                command.completeExceptionally(e);
+            }
+        }finally {
+            lock.writeLock().unlock();
+            metrics.recordLockHold(true, holdStart);
+        }
+    }
+
+    private static final class Lane {
+        private final long userId;
+        private final Queue<PendingCommand> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean leader = new AtomicBoolean();
+
+        private Lane(long userId){
+            this.userId = userId;
+        }
+    }
+
+    private static final class PendingCommand extends CompletableFuture<UserPoint> {
+        private final TransactionType type;
+        private final long amount;
+        private final Thread waiter;
+        private long balance;
+
+        private PendingCommand(TransactionType type, long amount, Thread waiter){
+            this.type = type;
+            this.amount = amount;
+            this.waiter = waiter;
+        }
+
+        private UserPoint result(){
+            try{
+                return join();
+            }catch (CompletionException e){
+                if(e.getCause() instanceof RuntimeException cause){
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+//사용자 포인트를 읽고 변경하는 방식 (point.write.mode 로 선택)
+//- locking : 사용자별 쓰기 락을 잡고 읽기-수정-쓰기 (LockingPointWriter)
+//- batching : 같은 사용자의 요청을 모아 한 번에 저장 (PointWriteBatcher)
+//- optimistic : 락 없이 계산한 뒤 버전 비교로 반영, 충돌 시 재시도 (OptimisticPointWriter)
+//- mailbox : 사용자별 대기열을 worker가 순서대로 처리 (MailboxPointWriter)
+//- partitioned : 사용자 ID 해시로 나눈 파티션마다 단일 writer 스레드가 처리 (PartitionedPointWriter)
+public interface PointWriteStrategy {
+
+    //마지막으로 반영이 완료된 사용자 포인트
+    UserPoint read(long id);
+
+    //최대 보유 포인트/잔액 규칙을 적용해서 반영하고, 반영된 사용자 포인트를 반환
+    //규칙에 맞지 않으면 IllegalArgumentException
+    UserPoint apply(long id, TransactionType type, long amount);
+
+    //read를 비동기로 실행 (기본은 executor 스레드에서 read 실행)
+    default CompletableFuture<UserPoint> readAsync(long id, Executor executor){
+        return CompletableFuture.supplyAsync(() -> read(id), executor);
+    }
+
+    //apply를 비동기로 실행하고 반영이 끝나면 완료되는 future를 반환 (기본은 executor 스레드에서 apply 실행)
+    //자체 대기열로 처리하는 방식(mailbox, partitioned)은 executor를 쓰지 않고 대기열에 넣은 뒤 바로 반환해서, 반영을 기다리는 스레드가 없다.
+    default CompletableFuture<UserPoint> applyAsync(long id, TransactionType type, long amount, Executor executor){
+        return CompletableFuture.supplyAsync(() -> apply(id, type, amount), executor);
+    }
+
+    //이체를 지원하는 방식인지 (두 사용자의 락을 함께 잡는 locking, batching만 지원)
+    default boolean supportsTransfer(){
+        return false;
+    }
+
+    //fromId의 포인트를 toId로 옮김 (두 사용자의 잔액 변경과 내역 기록을 한 번에 반영)
+    //규칙에 맞지 않으면 IllegalArgumentException, 지원하지 않는 방식이면 UnsupportedOperationException
+    default PointTransferResult transfer(long fromId, long toId, long amount){
+        throw new UnsupportedOperationException(PointService.TRANSFER_NOT_SUPPORTED);
+    }
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+//같은 사용자의 테이블 조회가 동시에 여러 번 들어오면 먼저 시작한 조회 하나만 실행하고 결과를 함께 받는다 (single-flight)
+//조회가 끝나면 바로 비우므로, 끝난 뒤에 들어온 요청은 새로 조회한다.
+public class SingleFlightLoader {
+
+    private final ConcurrentHashMap<Long, CompletableFuture<UserPoint>> inFlight = new ConcurrentHashMap<>();
+
+    public UserPoint load(long id, LongFunction<UserPoint> loader){
+        CompletableFuture<UserPoint> mine = new CompletableFuture<>();
+        CompletableFuture<UserPoint> running = inFlight.putIfAbsent(id, mine);
+        if(running != null){
+            return join(running);
+        }
+        try{
+            UserPoint loaded = loader.apply(id);
+            mine.complete(loaded);
+            return loaded;
+        }catch (RuntimeException e){
+            mine.completeExceptionally(e);
+            throw e;
+        }finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    //쓰기가 끝나면 호출. 진행 중인 조회에 새 요청이 더 합류하지 않도록 해서, 이후 요청은 쓰기 이후 값을 새로 읽음
+    public void invalidate(long id){
+        inFlight.remove(id);
+    }
+
+    private static UserPoint join(CompletableFuture<UserPoint> running){
+        try{
+            return running.join();
+        }catch (CompletionException e){
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
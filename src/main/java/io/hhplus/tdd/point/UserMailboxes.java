@@ -0,0 +1,150 @@
+package io.hhplus.tdd.point;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+//사용자 ID별 대기열(mailbox)
+//메시지가 들어온 사용자의 대기열만 공용 실행기에서 처리하고, 한 사용자의 메시지는 한 번에 하나의 스레드만 처리한다.
+//쌓여 있는 메시지는 최대 maxBatchSize개씩 묶어서 handler에 넘기고, 비어 있는 대기열은 바로 제거한다.
+//실행기가 종료되어 대기열을 실행할 수 없으면 대기열을 제거하고 남은 메시지를 모두 rejectHandler에 넘긴다.
+public class UserMailboxes<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(UserMailboxes.class);
+
+    public interface Handler<T> {
+        void handle(long userId, List<T> batch);
+    }
+
+    //실행기가 종료되어 처리하지 못한 메시지 (응답을 기다리는 쪽이 있으면 여기서 실패 처리)
+    public interface RejectHandler<T> {
+        void rejected(long userId, T message, RejectedExecutionException cause);
+    }
+
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final Handler<T> handler;
+    private final RejectHandler<T> rejectHandler;
+    private final ConcurrentHashMap<Long, Mailbox<T>> mailboxes = new ConcurrentHashMap<>();
+
+    public UserMailboxes(Executor executor, int maxBatchSize, Handler<T> handler){
+        this(executor, maxBatchSize, handler, (userId, message, cause) -> log.warn("실행기가 종료되어 처리하지 못한 메시지 userId={}", userId));
+    }
+
+    public UserMailboxes(Executor executor, int maxBatchSize, Handler<T> handler, RejectHandler<T> rejectHandler){
+        this.executor = executor;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.handler = handler;
+        this.rejectHandler = rejectHandler;
+    }
+
+    public void send(long userId, T message){
+        Mailbox<T>[] scheduled = newHolder();
+        //대기열 추가와 실행 상태 확인을 compute 안에서 해서, 정리 중인 대기열에 메시지가 남지 않게 함
+        mailboxes.compute(userId, (id, mailbox) -> {
+            Mailbox<T> current = mailbox == null ? new Mailbox<>(id) : mailbox;
+            current.messages.add(message);
+            if(!current.scheduled){
+                current.scheduled = true;
+                scheduled[0] = current;
+            }
+            return current;
+        });
+        if(scheduled[0] != null){
+            try{
+                schedule(scheduled[0]);
+            }catch (RejectedExecutionException e){
+                //실행기가 종료되었으면 대기열을 정리하고 호출한 쪽에도 알림
+                abandon(scheduled[0], e);
+                throw e;
+            }
+        }
+    }
+
+    //메시지가 남아 있는 사용자 수
+    public int getActiveCount(){
+        return mailboxes.size();
+    }
+
+    private void schedule(Mailbox<T> mailbox){
+        executor.execute(() -> drain(mailbox));
+    }
+
+    //대기열을 제거한 뒤 남은 메시지를 모두 rejectHandler에 넘김
+    //메시지 추가와 제거가 모두 compute 안에서 일어나므로, 제거 이후의 메시지는 새 대기열로 들어가 따로 처리됨
+    private void abandon(Mailbox<T> mailbox, RejectedExecutionException cause){
+        mailboxes.computeIfPresent(mailbox.userId, (id, current) -> current == mailbox ? null : current);
+        T message;
+        while((message = mailbox.messages.poll()) != null){
+            try{
+                rejectHandler.rejected(mailbox.userId, message, cause);
+            }catch (RuntimeException e){
+                log.error("처리하지 못한 메시지 정리 실패 userId={}", mailbox.userId, e);
+            }
+        }
+    }
+
+    //한 번에 한 묶음만 처리하고, 남은 메시지는 다시 실행기에 넣어 다른 사용자와 번갈아 처리
+    private void drain(Mailbox<T> mailbox){
+        List<T> batch = new ArrayList<>();
+        T message;
+        while(batch.size() < maxBatchSize && (message = mailbox.messages.poll()) != null){
+            batch.add(message);
+        }
+        if(!batch.isEmpty()){
+            try{
+                handler.handle(mailbox.userId, batch);
+            }catch (RuntimeException e){
+                log.error("사용자 대기열 처리 실패 userId={}", mailbox.userId, e);
+            }
+        }
+        if(!release(mailbox)){
+            try{
+                schedule(mailbox);
+            }catch (RejectedExecutionException e){
+                //worker 안에서는 알릴 호출자가 없으므로 남은 메시지를 실패 처리해서 기다리는 쪽이 멈추지 않게 함
+                log.warn("실행기가 종료되어 사용자 대기열의 남은 메시지를 처리하지 않음 userId={}", mailbox.userId);
+                abandon(mailbox, e);
+            }
+        }
+    }
+
+    //대기열이 비어 있으면 제거하고 true, 그 사이 메시지가 들어왔으면 false
+    private boolean release(Mailbox<T> mailbox){
+        boolean[] released = {true};
+        mailboxes.computeIfPresent(mailbox.userId, (id, current) -> {
+            if(current != mailbox){
+                return current;
+            }
+            if(!current.messages.isEmpty()){
+                released[0] = false;
+                return current;
+            }
+            return null;
+        });
+        return released[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Mailbox<T>[] newHolder(){
+        return (Mailbox<T>[]) new Mailbox[1];
+    }
+
+    private static final class Mailbox<T> {
+        private final long userId;
+        private final Queue<T> messages = new ConcurrentLinkedQueue<>();
+        //실행기에 넣었는지 여부 (compute 안에서만 변경)
+        private boolean scheduled;
+
+        private Mailbox(long userId){
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PrimitiveUserPointStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+//UserPointTable 앞에 두는 write-through 캐시
+//UserPointTable에 쓰는 곳은 PointService뿐이므로, 저장 직후의 값을 그대로 캐시에 두면 항상 최신 값이 된다.
+//값을 넣고 빼는 작업은 반드시 해당 사용자의 락을 잡은 상태에서 호출해야 한다.
+//- lru : 최대 maxSize명까지만 보관하는 LRU 맵
+//- primitive : 전체 사용자를 원시 타입 저장소(PrimitiveUserPointStore)에 보관 (제거 없음, point.cache.off-heap으로 오프힙 사용)
+@Component
+public class UserPointCache {
+
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    private final int maxSize;
+    //primitive 모드일 때만 사용 (lru 모드면 null)
+    private final PrimitiveUserPointStore store;
+    //접근 순서(accessOrder)로 정렬해서 가장 오래 사용되지 않은 사용자부터 제거 (LRU)
+    private final LinkedHashMap<Long, UserPoint> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    //캐시에 없는 사용자를 동시에 조회하면 테이블 조회를 한 번만 실행
+    private final SingleFlightLoader singleFlight = new SingleFlightLoader();
+    //재시작 때 스냅샷으로 복구한 잔액 (테이블에 다시 쓰지 않고, 처음 읽을 때 테이블 대신 사용. 복구하지 않았으면 null)
+    //해당 사용자가 한 번 저장되면 테이블이 최신 값을 가지므로 지움
+    private volatile PrimitiveUserPointStore restored;
+
+    public UserPointCache(int maxSize){
+        this(maxSize, null);
+    }
+
+    public UserPointCache(PrimitiveUserPointStore store){
+        this(0, store);
+    }
+
+    @Autowired
+    public UserPointCache(@Value("${point.cache.type:lru}") String type,
+                          @Value("${point.cache.max-size:10000}") int maxSize,
+                          @Value("${point.cache.initial-capacity:1024}") int initialCapacity,
+                          @Value("${point.cache.off-heap:false}") boolean offHeap){
+        this(maxSize, "primitive".equalsIgnoreCase(type) ? new PrimitiveUserPointStore(initialCapacity, offHeap) : null);
+    }
+
+    private UserPointCache(int maxSize, PrimitiveUserPointStore store){
+        this.maxSize = maxSize;
+        this.store = store;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest){
+                if(size() > UserPointCache.this.maxSize){
+                    evictionCount.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    //캐시에 없으면 null
+    public UserPoint get(long id){
+        UserPoint cached;
+        if(store != null){
+            cached = store.find(id);
+        }else{
+            lock.lock();
+            try{
+                cached = entries.get(id);
+            }finally {
+                lock.unlock();
+            }
+        }
+        if(cached == null){
+            missCount.increment();
+        }else{
+            hitCount.increment();
+        }
+        return cached;
+    }
+
+    //캐시에 없으면 loader로 읽어서 캐시에 저장 (loader 실행 중에는 캐시 락을 잡지 않음)
+    //같은 사용자를 동시에 읽는 요청(읽기 락은 함께 잡을 수 있음)은 loader 한 번의 결과를 나눠 받는다.
+    public UserPoint getOrLoad(long id, LongFunction<UserPoint> loader){
+        UserPoint cached = get(id);
+        if(cached != null){
+            return cached;
+        }
+        return singleFlight.load(id, key -> {
+            UserPoint loaded = findRestored(key);
+            if(loaded == null){
+                loaded = loader.apply(key);
+            }
+            putEntry(key, loaded);
+            return loaded;
+        });
+    }
+
+    //테이블에 저장한 직후의 값으로 갱신
+    public void put(long id, UserPoint userPoint){
+        if(userPoint == null){
+            return;
+        }
+        //저장 이후의 조회가 저장 전에 시작된 조회 결과를 받지 않도록 함
+        singleFlight.invalidate(id);
+        putEntry(id, userPoint);
+        clearRestored(id);
+    }
+
+    //스냅샷으로 복구한 잔액을 넘겨받음 (시작할 때 사용자마다 테이블에 저장하지 않도록 저장은 각 사용자의 다음 저장으로 미룸)
+    public void restore(PrimitiveUserPointStore balances){
+        this.restored = balances;
+    }
+
+    //복구한 잔액 중 아직 저장되지 않은 사용자의 잔액 (없으면 null)
+    public UserPoint findRestored(long id){
+        PrimitiveUserPointStore balances = restored;
+        return balances != null ? balances.find(id) : null;
+    }
+
+    //테이블에 저장한 사용자는 복구한 잔액을 더 이상 쓰지 않음 (캐시를 거치지 않고 저장하는 방식에서 호출)
+    public void clearRestored(long id){
+        PrimitiveUserPointStore balances = restored;
+        if(balances != null){
+            balances.remove(id);
+        }
+    }
+
+    public int getRestoredCount(){
+        PrimitiveUserPointStore balances = restored;
+        return balances != null ? balances.size() : 0;
+    }
+
+    private void putEntry(long id, UserPoint userPoint){
+        if(userPoint == null){
+            return;
+        }
+        if(store != null){
+            store.put(id, userPoint.point(), userPoint.updateMillis());
+            return;
+        }
+        if(maxSize <= 0){
+            return;
+        }
+        lock.lock();
+        try{
+            entries.put(id, userPoint);
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(long id){
+        if(store != null){
+            store.remove(id);
+            return;
+        }
+        lock.lock();
+        try{
+            entries.remove(id);
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    public int size(){
+        if(store != null){
+            return store.size();
+        }
+        lock.lock();
+        try{
+            return entries.size();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount(){
+        return hitCount.sum();
+    }
+
+    public long getMissCount(){
+        return missCount.sum();
+    }
+
+    public long getEvictionCount(){
+        return evictionCount.sum();
+    }
+}
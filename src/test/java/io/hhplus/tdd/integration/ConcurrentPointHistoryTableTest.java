@@ -0,0 +1,158 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//여러 스레드가 동시에 내역을 추가해도 ID가 빈틈 없이 한 번씩만 발급되고 내역이 사라지지 않는지 검증
+public class ConcurrentPointHistoryTableTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrentPointHistoryTableTest.class);
+
+    private static final int THREADS = 16;
+    private static final int INSERTS_PER_THREAD = 20_000;
+
+    //스레드마다 다른 사용자의 내역을 동시에 추가
+    @Test
+    void testConcurrentInsertsOfDifferentUsers() throws InterruptedException {
+        // Given
+        ConcurrentPointHistoryTable table = new ConcurrentPointHistoryTable();
+
+        // When
+        List<List<PointHistory>> inserted = insertConcurrently(table, THREADS, INSERTS_PER_THREAD, false);
+
+        // Then: 1 ~ 전체 건수의 ID가 한 번씩만 발급됨
+        int total = THREADS * INSERTS_PER_THREAD;
+        BitSet ids = new BitSet(total + 1);
+        for (List<PointHistory> histories : inserted) {
+            for (PointHistory history : histories) {
+                assertFalse(ids.get((int) history.id()), "중복 ID " + history.id());
+                ids.set((int) history.id());
+            }
+        }
+        assertEquals(total, ids.cardinality());
+        assertEquals(total, ids.nextClearBit(1) - 1);
+        assertEquals(total, table.getLastId());
+
+        // Then: 사용자별 조회는 자신이 넣은 내역 전체를 ID 순서로 반환
+        for (int thread = 0; thread < THREADS; thread++) {
+            List<PointHistory> histories = table.selectAllByUserId(thread);
+            assertEquals(inserted.get(thread), histories);
+        }
+
+        // Then: 전체 순회는 ID 순서대로 모든 내역을 한 번씩
+        long[] expectedId = {1};
+        table.forEach(history -> assertEquals(expectedId[0]++, history.id()));
+        assertEquals(total + 1, expectedId[0]);
+    }
+
+    //같은 사용자의 내역을 여러 스레드가 동시에 넣어도 사라지지 않음
+    @Test
+    void testConcurrentInsertsOfSameUser() throws InterruptedException {
+        // Given
+        ConcurrentPointHistoryTable table = new ConcurrentPointHistoryTable();
+
+        // When
+        insertConcurrently(table, THREADS, 5_000, true);
+
+        // Then
+        List<PointHistory> histories = table.selectAllByUserId(1L);
+        assertEquals(THREADS * 5_000, histories.size());
+        for (int i = 0; i < histories.size(); i++) {
+            assertEquals(i + 1, histories.get(i).id());
+        }
+        assertNull(table.selectById(histories.size() + 1));
+    }
+
+    //추가하는 도중에 전체 순회해도 호출 시점까지 발급된 ID를 빠짐없이 순서대로 전달 (쓰는 중인 칸은 기다림)
+    @Test
+    void testForEachDuringInsertsHasNoGaps() throws InterruptedException {
+        // Given
+        ConcurrentPointHistoryTable table = new ConcurrentPointHistoryTable();
+        Thread inserter = new Thread(() -> {
+            try {
+                insertConcurrently(table, THREADS, INSERTS_PER_THREAD, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        inserter.start();
+
+        // When & Then
+        while (inserter.isAlive()) {
+            long lastId = table.getLastId();
+            long[] expectedId = {1};
+            table.forEach(history -> assertEquals(expectedId[0]++, history.id()));
+            assertTrue(expectedId[0] - 1 >= lastId);
+        }
+        inserter.join();
+    }
+
+    //스레드 수를 늘렸을 때 추가 처리량 (./gradlew loadTest)
+    @Test
+    @Tag("load")
+    void testAppendScalesWithThreads() throws InterruptedException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int perThread = 500_000;
+
+        double singleRate = measure(1, perThread);
+        double parallelRate = measure(cores, perThread);
+
+        log.info("append 1 thread: {}/s, {} threads: {}/s (x{})", Math.round(singleRate), cores,
+                Math.round(parallelRate), String.format("%.2f", parallelRate / singleRate));
+        if (cores > 1) {
+            assertTrue(parallelRate > singleRate);
+        }
+    }
+
+    private double measure(int threads, int perThread) throws InterruptedException {
+        ConcurrentPointHistoryTable table = new ConcurrentPointHistoryTable();
+        long start = System.nanoTime();
+        insertConcurrently(table, threads, perThread, false);
+        return threads * (double) perThread / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+
+    //스레드마다 넣은 내역 목록 (sameUser가 아니면 스레드 번호를 사용자 ID로 사용)
+    private List<List<PointHistory>> insertConcurrently(ConcurrentPointHistoryTable table, int threads, int perThread,
+                                                        boolean sameUser) throws InterruptedException {
+        List<List<PointHistory>> inserted = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            inserted.add(new ArrayList<>(perThread));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int thread = 0; thread < threads; thread++) {
+            long userId = sameUser ? 1L : thread;
+            List<PointHistory> histories = inserted.get(thread);
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    histories.add(table.insert(userId, 100L, TransactionType.CHARGE, i));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        return inserted;
+    }
+}
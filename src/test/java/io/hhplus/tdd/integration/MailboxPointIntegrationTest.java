@@ -0,0 +1,100 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.InstantUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//사용자별 대기열 방식으로 기존 Service 통합 테스트를 실행
+public class MailboxPointIntegrationTest extends PointUnitIntegrationTest {
+
+    private MailboxPointWriter writer;
+
+    @Override
+    protected PointService createPointService() {
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        writer = new MailboxPointWriter(new UserPointTable(), new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE),
+                new PointHistoryJournal(pointHistoryTable, historyIndex), 4, 64);
+        return new PointService(writer, historyIndex);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    //요청이 끝나면 사용자 대기열이 남지 않음
+    @Test
+    void testMailboxesAreReleasedWhenIdle() throws InterruptedException {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+
+        // When: 사용자 20명에게 동시에 충전
+        for (long id = 100; id < 120; id++) {
+            long userId = id;
+            executor.execute(() -> pointService.chargePoints(userId, 1_000));
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        // Then: 응답 직후 대기열 정리가 끝날 때까지 잠시 대기
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.getActiveMailboxCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, writer.getActiveMailboxCount());
+        assertEquals(1_000, pointService.getUserPoint(119L).point());
+    }
+
+    //종료 시점에 대기열에 남아 있던 요청은 멈추지 않고 실패로 응답
+    @Test
+    void testPendingCommandsFailOnShutdown() throws Exception {
+        // Given: 첫 요청의 조회가 풀어 줄 때까지 멈춰 있는 테이블, worker 1개, 한 번에 한 건씩 처리
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UserPointTable blockingTable = new InstantUserPointTable() {
+            @Override
+            public UserPoint selectById(Long id) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.selectById(id);
+            }
+        };
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        MailboxPointWriter pendingWriter = new MailboxPointWriter(blockingTable, new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE),
+                new PointHistoryJournal(pointHistoryTable, new PointHistoryIndex(pointHistoryTable)), 1, 1);
+        CompletableFuture<UserPoint> first = pendingWriter.applyAsync(1L, TransactionType.CHARGE, 1_000, Runnable::run);
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<UserPoint> second = pendingWriter.applyAsync(1L, TransactionType.CHARGE, 1_000, Runnable::run);
+        CompletableFuture<UserPoint> third = pendingWriter.readAsync(1L, Runnable::run);
+
+        // When: 처리 중에 종료
+        pendingWriter.shutdown();
+        release.countDown();
+
+        // Then: 처리 중이던 요청은 완료되고, 남은 요청은 기다리지 않고 실패
+        assertEquals(1_000, first.get(5, TimeUnit.SECONDS).point());
+        for (CompletableFuture<UserPoint> pending : List.of(second, third)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(0, pendingWriter.getActiveMailboxCount());
+    }
+}
@@ -0,0 +1,143 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryIndex;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//메모리 매핑 내역 로그의 세그먼트 전환, 재시작 후 복구, 구간 읽기 검증
+public class MappedPointHistoryLogTest {
+    //세그먼트 하나에 레코드 10건
+    private static final long SEGMENT_BYTES = MappedPointHistoryLog.RECORD_BYTES * 10L;
+
+    private final Path directory = Files.createTempDirectory("point-history-");
+
+    public MappedPointHistoryLogTest() throws IOException {
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    //세그먼트 크기를 넘기면 다음 파일로 넘어가고, 다시 열어도 ID가 이어짐
+    @Test
+    void testRollAndReopen() {
+        // Given
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory, SEGMENT_BYTES, 1);
+        for (int i = 0; i < 25; i++) {
+            historyLog.insert(i % 2, 100L + i, i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE, i);
+        }
+        historyLog.close();
+
+        // When
+        MappedPointHistoryLog reopened = new MappedPointHistoryLog(directory, SEGMENT_BYTES, 1);
+        PointHistory next = reopened.insert(1L, 500L, TransactionType.CHARGE, 99L);
+        List<PointHistory> userHistories = reopened.selectAllByUserId(1L);
+        reopened.close();
+
+        // Then
+        assertEquals(3, reopened.getSegmentCount());
+        assertEquals(26L, next.id());
+        assertEquals(13, userHistories.size());
+        assertEquals(new PointHistory(2L, 1L, 101L, TransactionType.CHARGE, 1L), userHistories.get(0));
+        assertEquals(next, userHistories.get(12));
+    }
+
+    //마지막 레코드가 깨진 채로 종료되었으면 그 앞까지만 복구하고 같은 ID부터 다시 씀
+    @Test
+    void testRecoverFromTornRecord() throws IOException {
+        // Given
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory, SEGMENT_BYTES, 1);
+        for (int i = 0; i < 5; i++) {
+            historyLog.insert(1L, 100L, TransactionType.CHARGE, i);
+        }
+        historyLog.close();
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("history-0000000000000000001.log").toFile(), "rw")) {
+            file.seek(MappedPointHistoryLog.RECORD_BYTES * 4L + 16); // 5번째 레코드의 amount를 손상
+            file.writeLong(999L);
+        }
+
+        // When
+        MappedPointHistoryLog recovered = new MappedPointHistoryLog(directory, SEGMENT_BYTES, 1);
+        PointHistory rewritten = recovered.insert(1L, 300L, TransactionType.USE, 7L);
+        recovered.close();
+
+        // Then
+        assertEquals(5L, rewritten.id());
+        assertEquals(rewritten, recovered.selectById(5L));
+        assertEquals(5, recovered.selectAllByUserId(1L).size());
+    }
+
+    //ID 구간을 세그먼트별 view로 읽고, view에서 바로 레코드를 읽음
+    @Test
+    void testReadRangeAcrossSegments() {
+        // Given
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory, SEGMENT_BYTES, 0);
+        for (int i = 1; i <= 30; i++) {
+            historyLog.insert(i, i * 10L, TransactionType.CHARGE, i);
+        }
+
+        // When
+        List<ByteBuffer> views = historyLog.readRange(8, 22);
+        historyLog.close();
+
+        // Then
+        assertEquals(3, views.size());
+        assertEquals(3 * MappedPointHistoryLog.RECORD_BYTES, views.get(0).remaining());
+        assertTrue(views.get(0).isReadOnly());
+        assertEquals(new PointHistory(8L, 8L, 80L, TransactionType.CHARGE, 8L), MappedPointHistoryLog.decode(views.get(0), 0));
+        assertEquals(22L, MappedPointHistoryLog.decode(views.get(2), 1).id());
+    }
+
+    //인덱스는 시작할 때 로그를 한 번만 읽어 사용자별 ID 목록을 만들고, 사용자마다 로그 전체를 다시 훑지 않음
+    @Test
+    void testIndexIsBuiltOnceFromLog() {
+        // Given: 이미 내역이 있는 로그를 다시 열고, 전체 훑기 횟수를 셈
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory, SEGMENT_BYTES, 0);
+        for (int i = 0; i < 25; i++) {
+            historyLog.insert(i % 3, 100L + i, TransactionType.CHARGE, i);
+        }
+        historyLog.close();
+        AtomicInteger scans = new AtomicInteger();
+        MappedPointHistoryLog reopened = new MappedPointHistoryLog(directory, SEGMENT_BYTES, 0) {
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                scans.incrementAndGet();
+                return super.selectAllByUserId(userId);
+            }
+        };
+
+        // When
+        PointHistoryIndex historyIndex = new PointHistoryIndex(reopened);
+        PointHistory appended = reopened.insert(7L, 500L, TransactionType.CHARGE, 99L);
+        historyIndex.append(appended);
+
+        // Then: 기존 사용자, 새 사용자, 내역 없는 사용자 모두 로그를 다시 훑지 않고 조회
+        List<PointHistory> user1 = historyIndex.findAll(1L);
+        assertEquals(8, user1.size());
+        assertEquals(reopened.selectById(2L), user1.get(0));
+        assertEquals(List.of(appended), historyIndex.findLatest(7L, 0, 10));
+        assertEquals(List.of(), historyIndex.findAll(8L));
+        assertEquals(0, scans.get());
+        reopened.close();
+    }
+}
@@ -0,0 +1,133 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.InstantPointHistoryTable;
+import io.hhplus.tdd.database.InstantUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//낙관적 동시성 제어 방식으로 기존 Service 통합 테스트를 실행
+public class OptimisticPointIntegrationTest extends PointUnitIntegrationTest {
+
+    private OptimisticPointWriter writer;
+
+    @Override
+    protected PointService createPointService() {
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        writer = new OptimisticPointWriter(new UserPointTable(), new PointHistoryJournal(pointHistoryTable, historyIndex), 100, 1_000);
+        return new PointService(writer, historyIndex);
+    }
+
+    //한 사용자에 요청이 몰려도 충돌 후 재시도로 모든 충전이 반영되는지 검증
+    @Test
+    void testHighContentionCharges() throws InterruptedException {
+        // Given
+        Long id = 10L;
+
+        // When: 20개 스레드가 같은 사용자에게 1,000씩 충전
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> pointService.chargePoints(id, 1_000));
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        // Then
+        assertEquals(20_000, pointService.getUserPoint(id).point());
+        assertEquals(20, pointService.getUserPointHistory(id, 0, 100).size());
+    }
+
+    //테이블 저장에 실패한 충전은 메모리에 남지 않고, 다음 요청은 테이블의 값에서 이어짐
+    @Test
+    void testFailedPersistIsRolledBack() {
+        // Given: 두 번째 저장만 실패하는 테이블
+        AtomicInteger writes = new AtomicInteger();
+        UserPointTable failingTable = new UserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (writes.incrementAndGet() == 2) {
+                    throw new IllegalStateException("저장 실패");
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        PointService service = new PointService(new OptimisticPointWriter(failingTable,
+                new PointHistoryJournal(pointHistoryTable, historyIndex), 100, 1_000), historyIndex);
+        service.chargePoints(1L, 1_000);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> service.chargePoints(1L, 5_000));
+
+        // Then: 실패한 충전은 잔액/내역 어디에도 남지 않음
+        assertEquals(1_000, service.getUserPoint(1L).point());
+        assertEquals(2_000, service.chargePoints(1L, 1_000).point());
+        assertEquals(2, service.getUserPointHistory(1L, 0, 10).size());
+    }
+
+    //저장 중에 확정된 충전은 다음 저장 한 번에 모아서 반영 (요청마다 테이블에 저장하지 않음)
+    @Test
+    void testConcurrentChargesShareTableWrites() throws InterruptedException {
+        // Given: 저장 횟수를 세는 실제(지연 있는) 테이블
+        AtomicInteger writes = new AtomicInteger();
+        UserPointTable countingTable = new UserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                writes.incrementAndGet();
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        PointService service = new PointService(new OptimisticPointWriter(countingTable,
+                new PointHistoryJournal(pointHistoryTable, historyIndex), 100, 1_000), historyIndex);
+        service.getUserPoint(1L);
+
+        // When: 20개 스레드가 같은 사용자에게 1,000씩 충전
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        for (int i = 0; i < 20; i++) {
+            executor.execute(() -> service.chargePoints(1L, 1_000));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // Then: 모두 반영되고 내역도 건마다 남지만, 테이블 저장은 충전 수보다 적음
+        assertEquals(20_000, service.getUserPoint(1L).point());
+        assertEquals(20, service.getUserPointHistory(1L, 0, 100).size());
+        assertTrue(writes.get() < 20, "writes=" + writes.get());
+    }
+
+    //기록 수가 최대치를 넘으면 쉬고 있는 기록을 제거하고, 제거된 사용자는 테이블의 값으로 이어짐
+    @Test
+    void testIdleRecordsAreEvicted() {
+        // Given
+        PointHistoryTable pointHistoryTable = new InstantPointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        OptimisticPointWriter boundedWriter = new OptimisticPointWriter(new InstantUserPointTable(),
+                new PointHistoryJournal(pointHistoryTable, historyIndex), 100, 1_000, 10);
+        PointService service = new PointService(boundedWriter, historyIndex);
+
+        // When: 사용자 100명에게 두 번씩 충전
+        for (int round = 0; round < 2; round++) {
+            for (long id = 1; id <= 100; id++) {
+                service.chargePoints(id, 1_000);
+            }
+        }
+
+        // Then
+        assertTrue(boundedWriter.getRecordCount() <= 10, "records=" + boundedWriter.getRecordCount());
+        for (long id = 1; id <= 100; id++) {
+            assertEquals(2_000, service.getUserPoint(id).point());
+        }
+    }
+}
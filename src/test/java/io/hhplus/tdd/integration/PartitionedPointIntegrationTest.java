@@ -0,0 +1,205 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryTable;
+import io.hhplus.tdd.database.InstantUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//파티션 방식으로 기존 Service 통합 테스트를 실행하고, 락 방식과 결과가 같은지 검증
+public class PartitionedPointIntegrationTest extends PointUnitIntegrationTest {
+
+    private static final int USERS = 40;
+    private static final int COMMANDS_PER_USER = 50;
+
+    private PartitionedPointWriter writer;
+
+    @Override
+    protected PointService createPointService() {
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        writer = new PartitionedPointWriter(new UserPointTable(), new PointHistoryJournal(pointHistoryTable, historyIndex), 0, 64);
+        return new PointService(writer, historyIndex);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    //같은 명령을 사용자마다 같은 순서로 보내면, 사용자끼리는 동시에 실행해도 락 방식과 결과가 모두 같음
+    @Test
+    void testResultsMatchLockingImplementation() throws InterruptedException {
+        // Given: 사용자별 충전/사용 명령 (최대 포인트 초과, 잔액 부족으로 거절되는 명령 포함)
+        Random random = new Random(7);
+        long[] chargeAmounts = {1_000, 5_000, 30_000};
+        long[] useAmounts = {100, 200, 300};
+        List<List<PointCommand>> commands = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            List<PointCommand> userCommands = new ArrayList<>();
+            for (int i = 0; i < COMMANDS_PER_USER; i++) {
+                userCommands.add(random.nextInt(3) == 0
+                        ? new PointCommand(id, TransactionType.USE, useAmounts[random.nextInt(useAmounts.length)])
+                        : new PointCommand(id, TransactionType.CHARGE, chargeAmounts[random.nextInt(chargeAmounts.length)]));
+            }
+            commands.add(userCommands);
+        }
+
+        //두 방식 모두 지연 없는 테이블 사용 (파티션 방식은 파티션 4개)
+        PointHistoryTable lockingHistoryTable = new ConcurrentPointHistoryTable();
+        PointHistoryIndex lockingHistoryIndex = new PointHistoryIndex(lockingHistoryTable);
+        PointService lockingService = new PointService(new LockingPointWriter(new InstantUserPointTable(),
+                new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE),
+                new PointHistoryJournal(lockingHistoryTable, lockingHistoryIndex), new LockManager()), lockingHistoryIndex);
+
+        PointHistoryTable partitionedHistoryTable = new ConcurrentPointHistoryTable();
+        PointHistoryIndex partitionedHistoryIndex = new PointHistoryIndex(partitionedHistoryTable);
+        PartitionedPointWriter partitionedWriter = new PartitionedPointWriter(new InstantUserPointTable(),
+                new PointHistoryJournal(partitionedHistoryTable, partitionedHistoryIndex), 4, 64);
+        PointService partitionedService = new PointService(partitionedWriter, partitionedHistoryIndex);
+
+        // When
+        List<List<String>> lockingResults = run(lockingService, commands);
+        List<List<String>> partitionedResults;
+        try {
+            partitionedResults = run(partitionedService, commands);
+        } finally {
+            partitionedWriter.shutdown();
+        }
+
+        // Then: 명령별 결과(잔액 또는 거절 사유), 최종 잔액, 내역이 모두 같음
+        assertEquals(lockingResults, partitionedResults);
+        for (long id = 1; id <= USERS; id++) {
+            assertEquals(lockingService.getUserPoint(id).point(), partitionedService.getUserPoint(id).point());
+            assertEquals(summarize(lockingService.getUserPointHistory(id, 0, COMMANDS_PER_USER)),
+                    summarize(partitionedService.getUserPointHistory(id, 0, COMMANDS_PER_USER)));
+        }
+    }
+
+    //파티션 수를 지정하지 않으면 코어 수만큼 만듦
+    @Test
+    void testDefaultPartitionCountIsCoreCount() {
+        assertEquals(Runtime.getRuntime().availableProcessors(), writer.getPartitionCount());
+    }
+
+    //한 파티션에 모인 여러 사용자의 저장은 writer 스레드가 하나씩 하지 않고 동시에 실행됨
+    @Test
+    void testSavesOfOnePartitionRunConcurrently() throws InterruptedException {
+        // Given: 저장마다 50ms 걸리는 테이블, 파티션 1개
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        UserPointTable slowTable = new InstantUserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        PointHistoryTable pointHistoryTable = new ConcurrentPointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        PartitionedPointWriter singlePartition = new PartitionedPointWriter(slowTable,
+                new PointHistoryJournal(pointHistoryTable, historyIndex), 1, 64);
+        PointService service = new PointService(singlePartition, historyIndex);
+
+        // When: 사용자 16명이 동시에 충전
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (long id = 1; id <= 16; id++) {
+            long userId = id;
+            executor.execute(() -> service.chargePoints(userId, 1_000));
+        }
+        executor.shutdown();
+
+        // Then
+        try {
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        } finally {
+            singlePartition.shutdown();
+        }
+        assertTrue(maxRunning.get() > 1, "저장이 하나씩만 실행됨");
+        for (long id = 1; id <= 16; id++) {
+            assertEquals(1_000, service.getUserPoint(id).point());
+            assertEquals(1, service.getUserPointHistory(id, 0, 10).size());
+        }
+    }
+
+    //파티션이 들고 있는 잔액은 최대 수를 넘지 않고, 제거된 사용자는 테이블의 값으로 다시 올라와 이어서 계산됨
+    @Test
+    void testBalancesAreBoundedAndReloaded() throws InterruptedException {
+        // Given: 파티션 2개, 모두 합쳐 최대 10명
+        PointHistoryTable pointHistoryTable = new ConcurrentPointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        PartitionedPointWriter bounded = new PartitionedPointWriter(new InstantUserPointTable(),
+                new PointHistoryJournal(pointHistoryTable, historyIndex), 2, 64, 4, 10, false);
+        PointService service = new PointService(bounded, historyIndex);
+
+        try {
+            // When: 사용자 100명에게 두 번씩 충전 (사이에 다른 사용자들이 처리되어 대부분 제거된 뒤 다시 충전)
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int round = 0; round < 2; round++) {
+                for (long id = 1; id <= 100; id++) {
+                    long userId = id;
+                    executor.execute(() -> service.chargePoints(userId, 1_000));
+                }
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+            // Then
+            assertTrue(bounded.getBalanceCount() <= 10, "잔액 수 " + bounded.getBalanceCount());
+            for (long id = 1; id <= 100; id++) {
+                assertEquals(2_000, service.getUserPoint(id).point());
+                assertEquals(2, service.getUserPointHistory(id, 0, 10).size());
+            }
+            assertTrue(bounded.getBalanceCount() <= 10, "잔액 수 " + bounded.getBalanceCount());
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    //사용자마다 하나의 스레드에서 명령을 순서대로 실행하고, 사용자끼리는 동시에 실행
+    private List<List<String>> run(PointService service, List<List<PointCommand>> commands) throws InterruptedException {
+        List<List<String>> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (List<PointCommand> userCommands : commands) {
+            List<String> userResults = new ArrayList<>();
+            results.add(userResults);
+            executor.execute(() -> {
+                for (PointCommand command : userCommands) {
+                    try {
+                        UserPoint userPoint = command.type() == TransactionType.CHARGE
+                                ? service.chargePoints(command.userId(), command.amount())
+                                : service.usePoints(command.userId(), command.amount());
+                        userResults.add(String.valueOf(userPoint.point()));
+                    } catch (IllegalArgumentException e) {
+                        userResults.add(e.getMessage());
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        return results;
+    }
+
+    private List<String> summarize(List<PointHistory> histories) {
+        return histories.stream().map(history -> history.type() + ":" + history.amount()).toList();
+    }
+}
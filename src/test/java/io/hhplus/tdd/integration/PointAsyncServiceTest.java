@@ -0,0 +1,99 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//비동기 서비스에서 사용자별 순서, 취소된 요청 처리 검증
+public class PointAsyncServiceTest {
+    private final PointAsyncService pointAsyncService = new PointAsyncService(
+            new PointService(new UserPointTable(), new PointHistoryTable(), new LockManager()),
+            Executors.newFixedThreadPool(8), 0);
+
+    @AfterEach
+    void tearDown() {
+        pointAsyncService.shutdown();
+    }
+
+    //기다리지 않고 연달아 보낸 요청이 보낸 순서대로 반영됨
+    @Test
+    void testRequestsOfSameUserRunInOrder() {
+        // Given
+        Long id = 1L;
+        CompletableFuture<UserPoint> charged = pointAsyncService.chargePoints(id, 3_000);
+
+        // When
+        List<CompletableFuture<UserPoint>> uses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            uses.add(pointAsyncService.usePoints(id, 100));
+        }
+
+        // Then
+        assertEquals(3_000, charged.join().point());
+        for (int i = 0; i < uses.size(); i++) {
+            assertEquals(3_000 - 100 * (i + 1), uses.get(i).join().point());
+        }
+        assertEquals(2_000, pointAsyncService.getUserPoint(id).join().point());
+    }
+
+    //시작 전에 취소된 요청은 반영되지 않음
+    @Test
+    void testCancelledRequestIsNotApplied() {
+        // Given: 앞 요청이 처리되는 동안 다음 요청은 대기열에서 기다림
+        Long id = 2L;
+        CompletableFuture<UserPoint> first = pointAsyncService.chargePoints(id, 1_000);
+        CompletableFuture<UserPoint> second = pointAsyncService.chargePoints(id, 3_000);
+
+        // When
+        second.cancel(true);
+
+        // Then
+        assertEquals(1_000, first.join().point());
+        assertTrue(second.isCancelled());
+        assertEquals(1_000, pointAsyncService.getUserPoint(id).join().point());
+    }
+
+    //대기열로 처리하는 반영 방식(mailbox)은 I/O 실행기를 쓰지 않고 보낸 순서대로 반영됨
+    @Test
+    void testMailboxWritesDoNotUseIoThreads() {
+        // Given
+        AtomicInteger ioTasks = new AtomicInteger();
+        ExecutorService ioExecutor = Executors.newFixedThreadPool(4, runnable -> {
+            ioTasks.incrementAndGet();
+            return new Thread(runnable);
+        });
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        MailboxPointWriter writer = new MailboxPointWriter(new UserPointTable(), new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE),
+                new PointHistoryJournal(pointHistoryTable, historyIndex), 4, 64);
+        PointAsyncService mailboxAsyncService = new PointAsyncService(new PointService(writer, historyIndex), ioExecutor, 0);
+
+        // When
+        CompletableFuture<UserPoint> charged = mailboxAsyncService.chargePoints(1L, 3_000);
+        List<CompletableFuture<UserPoint>> uses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            uses.add(mailboxAsyncService.usePoints(1L, 100));
+        }
+
+        // Then
+        assertEquals(3_000, charged.join().point());
+        for (int i = 0; i < uses.size(); i++) {
+            assertEquals(3_000 - 100 * (i + 1), uses.get(i).join().point());
+        }
+        assertEquals(2_000, mailboxAsyncService.getUserPoint(1L).join().point());
+        assertEquals(0, ioTasks.get());
+        mailboxAsyncService.shutdown();
+        writer.shutdown();
+    }
+}
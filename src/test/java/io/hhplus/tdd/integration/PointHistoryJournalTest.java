@@ -0,0 +1,188 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//비동기 내역 저널 사용 시 내역 순서와 flush 동작 검증
+public class PointHistoryJournalTest {
+    private final UserPointTable userPointTable = new UserPointTable();
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private final PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+    private final PointHistoryJournal historyJournal = new PointHistoryJournal(pointHistoryTable, historyIndex, true, 2, 16, false);
+    private final PointService pointService = new PointService(new LockingPointWriter(userPointTable,
+            new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE), historyJournal, new LockManager()), historyIndex);
+
+    @AfterEach
+    void tearDown() {
+        historyJournal.close();
+    }
+
+    //flush 이후에는 모든 내역이 저장되어 있어야 함
+    @Test
+    void testFlushWritesAllAcceptedHistory() {
+        // Given
+        Long id = 1L;
+
+        // When
+        pointService.chargePoints(id, 1_000);
+        pointService.chargePoints(id, 3_000);
+        pointService.usePoints(id, 200);
+        historyJournal.flush();
+
+        // Then: 잔액이 바뀐 순서대로 내역이 저장됨
+        List<PointHistory> histories = pointHistoryTable.selectAllByUserId(id);
+        assertEquals(3, histories.size());
+        assertEquals(1_000, histories.get(0).amount());
+        assertEquals(3_000, histories.get(1).amount());
+        assertEquals(TransactionType.USE, histories.get(2).type());
+    }
+
+    //여러 사용자가 동시에 충전해도 사용자별 내역 순서는 잔액 변경 순서와 같음
+    @Test
+    void testPerUserOrderMatchesBalanceChanges() throws InterruptedException {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When: 사용자 4명이 각각 1,000씩 10번 충전
+        for (long id = 1; id <= 4; id++) {
+            long userId = id;
+            executor.execute(() -> {
+                for (int i = 0; i < 10; i++) {
+                    pointService.chargePoints(userId, 1_000);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        historyJournal.flush();
+
+        // Then: 사용자별 내역 합계가 잔액과 같고, 시간 순서대로 쌓임
+        for (long id = 1; id <= 4; id++) {
+            List<PointHistory> histories = pointHistoryTable.selectAllByUserId(id);
+            assertEquals(10, histories.size());
+            assertEquals(pointService.getUserPoint(id).point(),
+                    histories.stream().mapToLong(PointHistory::amount).sum());
+            for (int i = 1; i < histories.size(); i++) {
+                assertTrue(histories.get(i - 1).updateMillis() <= histories.get(i).updateMillis());
+            }
+        }
+    }
+
+    //기본 내역 테이블은 동시 추가에 안전하지 않으므로 writer를 여러 개 요청해도 1개만 사용
+    @Test
+    void testSingleWriterForNonConcurrentStore() {
+        assertEquals(1, historyJournal.getWriterCount());
+    }
+
+    //저장에 실패한 내역은 버리지 않고 다시 시도해서 저장
+    @Test
+    void testFailedWriteIsRetried() {
+        // Given: 처음 두 번은 저장에 실패하는 테이블
+        AtomicInteger failures = new AtomicInteger(2);
+        PointHistoryTable flakyTable = new PointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("저장 실패");
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        PointHistoryIndex flakyIndex = new PointHistoryIndex(flakyTable);
+        PointHistoryJournal journal = new PointHistoryJournal(flakyTable, flakyIndex, true, 1, 16, false);
+
+        // When
+        try {
+            journal.append(1L, 1_000, TransactionType.CHARGE, System.currentTimeMillis());
+            assertTrue(journal.flush(10, TimeUnit.SECONDS));
+        } finally {
+            journal.close();
+        }
+
+        // Then: 테이블과 인덱스 모두 반영
+        assertEquals(1, flakyTable.selectAllByUserId(1L).size());
+        assertEquals(1, flakyIndex.findAll(1L).size());
+    }
+
+    //계속 실패하는 저장소면 정해진 횟수만 다시 시도하고 버려서, 큐가 가득 차도 append가 멈추지 않음
+    @Test
+    void testPermanentlyFailingWriteIsDroppedAfterRetries() {
+        // Given: 항상 실패하는 테이블, 재시도 2번, 큐 크기 4
+        PointHistoryTable brokenTable = new PointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                throw new IllegalStateException("저장 실패");
+            }
+        };
+        PointHistoryJournal journal = new PointHistoryJournal(brokenTable, new PointHistoryIndex(brokenTable), true, 1, 4, 2, false);
+
+        // When: 큐 크기보다 많은 내역
+        try {
+            for (int i = 0; i < 20; i++) {
+                journal.append(1L, 1_000, TransactionType.CHARGE, System.currentTimeMillis());
+            }
+            assertTrue(journal.flush(30, TimeUnit.SECONDS));
+        } finally {
+            journal.close();
+        }
+
+        // Then: 모두 버려진 것으로 집계
+        assertEquals(20, journal.getDroppedCount());
+    }
+
+    //append와 close가 겹쳐도, 예외 없이 받은 내역은 모두 저장되고 close 뒤의 append는 거절됨
+    @Test
+    void testAppendRacingCloseIsNeverLost() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            // Given
+            PointHistoryTable table = new ConcurrentPointHistoryTable();
+            PointHistoryJournal journal = new PointHistoryJournal(table, new PointHistoryIndex(table), true, 4, 16, false);
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            AtomicInteger accepted = new AtomicInteger();
+            CountDownLatch started = new CountDownLatch(8);
+
+            // When: 8개 스레드가 계속 append하는 중에 close
+            for (long id = 1; id <= 8; id++) {
+                long userId = id;
+                executor.execute(() -> {
+                    started.countDown();
+                    try {
+                        while (true) {
+                            journal.append(userId, 1_000, TransactionType.CHARGE, System.currentTimeMillis());
+                            accepted.incrementAndGet();
+                        }
+                    } catch (IllegalStateException e) {
+                        //close 이후 거절
+                    }
+                });
+            }
+            started.await();
+            journal.close();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+            // Then
+            long saved = 0;
+            for (long id = 1; id <= 8; id++) {
+                saved += table.selectAllByUserId(id).size();
+            }
+            assertEquals(accepted.get(), saved);
+            assertEquals(0, journal.getDroppedCount());
+            assertThrows(IllegalStateException.class,
+                    () -> journal.append(1L, 1_000, TransactionType.CHARGE, System.currentTimeMillis()));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package io.hhplus.tdd.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.InstantUserPointTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//실행 중인 서버의 REST API(/point)를 HTTP로 호출하는 부하/경합 시뮬레이션
+//./gradlew loadSimulation -Pload.distribution=zipf -Pload.threads=128 -Ppoint.write.mode=mailbox
+//서버 설정(point.*)은 -P로 넘긴 값이 application.yml보다 우선하고, load.tables=throttled면 실제 잔액 테이블을 사용
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PointHttpLoadSimulationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHttpLoadSimulationTest.class);
+    private static final int DEFAULT_OPERATIONS = 20_000;
+    //내역 저널이 비동기로 저장하므로 검증 전에 기다리는 최대 시간
+    private static final long HISTORY_AWAIT_MILLIS = 10_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testRestApiUnderLoad() throws Exception {
+        for (PointLoadHarness.Scenario scenario : PointLoadHarness.Scenario.fromSystemProperties(DEFAULT_OPERATIONS)) {
+            // Given: 시나리오마다 사용자 ID 대역을 나눠서 앞선 시나리오의 잔액과 섞이지 않게 함
+            PointLoadHarness.Target target = new HttpTarget(URI.create("http://localhost:" + port + "/point/"), objectMapper,
+                    (long) scenario.distribution().ordinal() * 1_000_000_000L);
+
+            // When
+            PointLoadHarness.Report report = new PointLoadHarness().run(scenario, target);
+            log.info("\n{}", report.summary());
+            report.write(Path.of("build", "reports", "load"),
+                    "http-" + scenario.distribution().name().toLowerCase());
+
+            // Then
+            assertEquals(0, report.getErrorCount(), () -> String.valueOf(report.getFirstError()));
+            assertEquals(List.of(), report.verify(target, HISTORY_AWAIT_MILLIS));
+        }
+    }
+
+    //기본적으로 지연 없는 잔액 테이블로 교체해서 API 계층 자체의 지연을 측정
+    //내역 저장소는 point.history.store 설정을 따름 (concurrent/mapped는 지연 없음)
+    @TestConfiguration
+    @ConditionalOnProperty(name = "load.tables", havingValue = "instant", matchIfMissing = true)
+    static class InstantTablesConfiguration {
+
+        @Bean
+        @Primary
+        UserPointTable instantUserPointTable() {
+            return new InstantUserPointTable();
+        }
+    }
+
+    //거절(에러 응답)은 상태 코드를 사유로 집계
+    private static final class HttpTarget implements PointLoadHarness.Target {
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        private final URI baseUri;
+        private final ObjectMapper objectMapper;
+        private final long idOffset;
+
+        private HttpTarget(URI baseUri, ObjectMapper objectMapper, long idOffset) {
+            this.baseUri = baseUri;
+            this.objectMapper = objectMapper;
+            this.idOffset = idOffset;
+        }
+
+        @Override
+        public UserPoint read(long userId) {
+            return toUserPoint(userId, send(HttpRequest.newBuilder(baseUri.resolve(String.valueOf(userId + idOffset))).GET()));
+        }
+
+        @Override
+        public UserPoint charge(long userId, long amount) {
+            return toUserPoint(userId, send(patch(userId, "charge", amount)));
+        }
+
+        @Override
+        public UserPoint use(long userId, long amount) {
+            return toUserPoint(userId, send(patch(userId, "use", amount)));
+        }
+
+        @Override
+        public List<PointHistory> histories(long userId) {
+            String body = send(HttpRequest.newBuilder(baseUri.resolve((userId + idOffset) + "/histories/export?format=ndjson")).GET());
+            List<PointHistory> histories = new ArrayList<>();
+            try {
+                for (String line : body.split("\n")) {
+                    if (!line.isBlank()) {
+                        PointHistory history = objectMapper.readValue(line, PointHistory.class);
+                        //검증은 시나리오 안의 사용자 ID 기준
+                        histories.add(new PointHistory(history.id(), userId, history.amount(), history.type(), history.updateMillis()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return histories;
+        }
+
+        private HttpRequest.Builder patch(long userId, String action, long amount) {
+            return HttpRequest.newBuilder(baseUri.resolve((userId + idOffset) + "/" + action))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)));
+        }
+
+        private String send(HttpRequest.Builder request) {
+            HttpResponse<String> response;
+            try {
+                response = client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (response.statusCode() != 200) {
+                throw new PointLoadHarness.Rejected("http_" + response.statusCode());
+            }
+            return response.body();
+        }
+
+        private UserPoint toUserPoint(long userId, String body) {
+            try {
+                UserPoint userPoint = objectMapper.readValue(body, UserPoint.class);
+                return new UserPoint(userId, userPoint.point(), userPoint.updateMillis());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
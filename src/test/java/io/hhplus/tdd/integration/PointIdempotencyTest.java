@@ -0,0 +1,201 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryTable;
+import io.hhplus.tdd.database.InstantUserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Idempotency-Key로 다시 보낸 충전/사용 요청이 한 번만 반영되는지 검증
+public class PointIdempotencyTest {
+
+    private final CountingUserPointTable userPointTable = new CountingUserPointTable();
+    private final ConcurrentPointHistoryTable pointHistoryTable = new ConcurrentPointHistoryTable();
+    private final PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+    //캐시 없이 매번 테이블을 거치는 구성
+    private final PointService pointService = new PointService(new LockingPointWriter(userPointTable,
+            new UserPointCache(0), new PointHistoryJournal(pointHistoryTable, historyIndex), new LockManager()), historyIndex);
+
+    //같은 키로 다시 보내면 테이블을 거치지 않고 처음 결과를 반환
+    @Test
+    void testReplayReturnsOriginalResult() {
+        // Given
+        UserPoint first = pointService.chargePoints(1L, 1_000, "charge-1");
+        int tableCalls = userPointTable.calls.get();
+
+        // When
+        UserPoint replayed = pointService.chargePoints(1L, 1_000, "charge-1");
+
+        // Then
+        assertEquals(first, replayed);
+        assertEquals(tableCalls, userPointTable.calls.get());
+        assertEquals(1, pointService.getUserPointHistory(1L, 0, 10).size());
+        assertEquals(1_000, pointService.getUserPoint(1L).point());
+    }
+
+    //처음 요청이 처리 중이면 같은 키의 요청은 끝날 때까지 기다렸다가 같은 결과를 받음
+    @Test
+    void testInFlightDuplicateWaitsForFirstAttempt() throws Exception {
+        // Given: 처음 요청이 테이블 저장에서 멈춰 있음
+        userPointTable.blockWrites();
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> pointService.chargePoints(2L, 3_000, "charge-2"));
+        assertTrue(userPointTable.writeStarted.await(5, TimeUnit.SECONDS));
+
+        // When: 같은 키로 다시 보냄
+        CompletableFuture<UserPoint> retry = CompletableFuture.supplyAsync(() -> pointService.chargePoints(2L, 3_000, "charge-2"));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertFalse(retry.isDone());
+        userPointTable.releaseWrites();
+
+        // Then: 두 요청 모두 같은 결과, 반영은 한 번
+        assertEquals(first.get(5, TimeUnit.SECONDS), retry.get(5, TimeUnit.SECONDS));
+        assertEquals(3_000, pointService.getUserPoint(2L).point());
+        assertEquals(1, pointService.getUserPointHistory(2L, 0, 10).size());
+    }
+
+    //규칙 위반으로 거절된 요청은 다시 보내도 같은 사유로 거절
+    @Test
+    void testRejectionIsReplayed() {
+        // Given
+        IllegalArgumentException first = assertThrows(IllegalArgumentException.class,
+                () -> pointService.usePoints(3L, 100, "use-3"));
+        pointService.chargePoints(3L, 1_000);
+
+        // When: 그 사이 잔액이 생겼어도 같은 키는 처음 결과를 따름
+        IllegalArgumentException replayed = assertThrows(IllegalArgumentException.class,
+                () -> pointService.usePoints(3L, 100, "use-3"));
+
+        // Then
+        assertEquals(first.getMessage(), replayed.getMessage());
+        assertEquals(1_000, pointService.getUserPoint(3L).point());
+    }
+
+    //같은 키를 다른 요청에 쓰면 거절
+    @Test
+    void testKeyReusedForDifferentRequestIsRejected() {
+        // Given
+        pointService.chargePoints(4L, 1_000, "key-4");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> pointService.chargePoints(4L, 3_000, "key-4"));
+        assertThrows(IllegalArgumentException.class, () -> pointService.usePoints(4L, 1_000, "key-4"));
+        assertEquals(1_000, pointService.getUserPoint(4L).point());
+    }
+
+    //보관 시간이 지나거나 최대 건수를 넘은 키는 정리되어 다시 실행됨
+    @Test
+    void testEntriesExpireAndAreBounded() {
+        // Given: 최대 2건, 1초 보관
+        AtomicLong now = new AtomicLong();
+        PointIdempotencyStore store = new PointIdempotencyStore(2, 1_000, now::get);
+        AtomicInteger executions = new AtomicInteger();
+
+        // When & Then: 보관 시간 안에는 한 번만 실행
+        store.execute("a", 1L, TransactionType.CHARGE, 100, () -> new UserPoint(1L, executions.incrementAndGet(), 0));
+        store.execute("a", 1L, TransactionType.CHARGE, 100, () -> new UserPoint(1L, executions.incrementAndGet(), 0));
+        assertEquals(1, executions.get());
+        assertEquals(1, store.getReplayCount());
+
+        // When & Then: 보관 시간이 지나면 다시 실행
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        store.execute("a", 1L, TransactionType.CHARGE, 100, () -> new UserPoint(1L, executions.incrementAndGet(), 0));
+        assertEquals(2, executions.get());
+
+        // When & Then: 최대 건수를 넘으면 오래된 키부터 정리
+        store.execute("b", 1L, TransactionType.CHARGE, 100, () -> new UserPoint(1L, executions.incrementAndGet(), 0));
+        store.execute("c", 1L, TransactionType.CHARGE, 100, () -> new UserPoint(1L, executions.incrementAndGet(), 0));
+        assertEquals(2, store.size());
+        store.execute("a", 1L, TransactionType.CHARGE, 100, () -> new UserPoint(1L, executions.incrementAndGet(), 0));
+        assertEquals(5, executions.get());
+    }
+
+    //최대 건수를 넘어도 처리 중인 항목은 지우지 않아서, 재시도가 처음 요청의 결과를 기다림
+    @Test
+    void testInFlightEntryIsNotEvicted() throws Exception {
+        // Given: 최대 1건, 처음 요청이 처리 중
+        PointIdempotencyStore store = new PointIdempotencyStore(1, 60_000, System::nanoTime);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() ->
+                store.execute("slow", 1L, TransactionType.CHARGE, 100, () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new UserPoint(1L, 100, 0);
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When: 다른 키로 최대 건수를 넘긴 뒤 같은 키로 다시 보냄
+        store.execute("other", 1L, TransactionType.CHARGE, 100, () -> new UserPoint(1L, 200, 0));
+        CompletableFuture<UserPoint> retry = CompletableFuture.supplyAsync(() ->
+                store.execute("slow", 1L, TransactionType.CHARGE, 100, () -> {
+                    executions.incrementAndGet();
+                    return new UserPoint(1L, 999, 0);
+                }));
+        release.countDown();
+
+        // Then: 한 번만 실행되고 재시도는 처음 결과를 받음
+        assertEquals(first.get(5, TimeUnit.SECONDS), retry.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    //키는 사용자별로 관리하므로 다른 사용자가 같은 키를 써도 각자 반영됨
+    @Test
+    void testSameKeyOfDifferentUsersIsIndependent() {
+        // When
+        pointService.chargePoints(5L, 1_000, "shared-key");
+        pointService.chargePoints(6L, 3_000, "shared-key");
+
+        // Then
+        assertEquals(1_000, pointService.getUserPoint(5L).point());
+        assertEquals(3_000, pointService.getUserPoint(6L).point());
+    }
+
+    //테이블 호출 수를 세고, 필요하면 저장을 잠시 멈추는 테이블
+    private static final class CountingUserPointTable extends InstantUserPointTable {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch writeStarted = new CountDownLatch(1);
+        private volatile CountDownLatch writeGate;
+
+        void blockWrites() {
+            writeGate = new CountDownLatch(1);
+        }
+
+        void releaseWrites() {
+            writeGate.countDown();
+        }
+
+        @Override
+        public UserPoint selectById(Long id) {
+            calls.incrementAndGet();
+            return super.selectById(id);
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            calls.incrementAndGet();
+            CountDownLatch gate = writeGate;
+            if (gate != null) {
+                writeStarted.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.insertOrUpdate(id, amount);
+        }
+    }
+}
@@ -31,8 +31,8 @@ public class PointIntegrationTest {
         Long id = 1L;
 
         // When: 포인트 충전
-        pointController.charge(id, 1000); // 1000 포인트 충전
-        pointController.charge(id, 3000); // 3000 포인트 충전
+        pointController.charge(id, 1000, null); // 1000 포인트 충전
+        pointController.charge(id, 3000, null); // 3000 포인트 충전
 
         // Then: 포인트 조회
         UserPoint userPoint = pointController.point(id);
@@ -47,15 +47,15 @@ public class PointIntegrationTest {
         Long id = 1L;
 
         // When: 포인트 충전 및 사용
-        pointController.charge(id, 5000);
-        pointController.use(id, 200);
+        pointController.charge(id, 5000, null);
+        pointController.use(id, 200, null);
 
         // Then: 포인트 확인
         UserPoint userPoint = pointController.point(id);
         assertEquals(3000, userPoint.point());
 
         // Then: 내역 확인
-        List<PointHistory> history = pointController.history(id);
+        List<PointHistory> history = pointController.history(id, null, null, null, 20).items();
         assertEquals(2, history.size());
         assertEquals(TransactionType.CHARGE, history.get(0).type());
         assertEquals(TransactionType.USE, history.get(1).type());
@@ -0,0 +1,437 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.PointRejectReason;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+//포인트 API 부하/경합 시뮬레이션 도구
+//Scenario(사용자 ID 분포, 조회 비율, 동시 실행 수)대로 Target(PointService 또는 REST API)을 호출하고
+//요청 종류별 지연 시간을 HdrHistogram으로 기록한다. 끝나면 사용자별 잔액이 내역을 처음부터 반영한 값과 같은지 검증한다.
+public class PointLoadHarness {
+
+    public enum Distribution {
+        //모든 사용자를 같은 확률로 선택
+        UNIFORM,
+        //ID가 작을수록 자주 선택 (1번 사용자가 가장 뜨거움)
+        ZIPF
+    }
+
+    public enum Operation {
+        READ, CHARGE, USE
+    }
+
+    private static final long[] CHARGE_AMOUNTS = {1_000L, 3_000L, 5_000L};
+    private static final long[] USE_AMOUNTS = {100L, 200L, 300L};
+    //기록할 수 있는 최대 지연 시간 (넘으면 최대값으로 기록)
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    //검증 실패 내용은 앞쪽 일부만 보관
+    private static final int MAX_REPORTED_VIOLATIONS = 20;
+
+    /**
+     * 부하 시나리오.
+     * 같은 seed면 스레드마다 같은 요청 순서를 만든다 (스레드 간 실행 순서는 실행마다 다를 수 있음).
+     */
+    public record Scenario(
+            Distribution distribution,
+            double zipfExponent,
+            int users,
+            double readRatio,
+            double useRatio,
+            int threads,
+            int operations,
+            int warmupOperations,
+            long seed
+    ) {
+
+        //-Pload.xxx 로 넘어온 시스템 프로퍼티로 기본값을 덮어씀 (load.distribution은 쉼표로 여러 개 지정 가능)
+        public static List<Scenario> fromSystemProperties(int defaultOperations){
+            List<Scenario> scenarios = new ArrayList<>();
+            for(String distribution : System.getProperty("load.distribution", "uniform,zipf").split(",")){
+                int operations = Integer.getInteger("load.operations", defaultOperations);
+                scenarios.add(new Scenario(
+                        Distribution.valueOf(distribution.trim().toUpperCase()),
+                        Double.parseDouble(System.getProperty("load.zipf-exponent", "1.0")),
+                        Integer.getInteger("load.users", 10_000),
+                        Double.parseDouble(System.getProperty("load.read-ratio", "0.5")),
+                        Double.parseDouble(System.getProperty("load.use-ratio", "0.5")),
+                        Integer.getInteger("load.threads", 32),
+                        operations,
+                        Integer.getInteger("load.warmup-operations", operations / 10),
+                        Long.getLong("load.seed", 42L)));
+            }
+            return scenarios;
+        }
+
+        public String describe(){
+            String users = distribution == Distribution.ZIPF
+                    ? "zipf(s=" + zipfExponent + ", users=" + this.users + ")"
+                    : "uniform(users=" + this.users + ")";
+            return String.format("%s threads=%d read=%.2f use=%.2f ops=%d seed=%d",
+                    users, threads, readRatio, useRatio, operations, seed);
+        }
+    }
+
+    //부하를 줄 대상 (PointService 직접 호출 / REST API)
+    public interface Target {
+        UserPoint read(long userId);
+
+        UserPoint charge(long userId, long amount);
+
+        UserPoint use(long userId, long amount);
+
+        //해당 사용자의 전체 내역 (순서 무관)
+        List<PointHistory> histories(long userId);
+    }
+
+    //규칙에 따라 거절된 요청 (reason : 집계용 사유)
+    public static class Rejected extends RuntimeException {
+        private final String reason;
+
+        public Rejected(String reason){
+            super(reason, null, false, false);
+            this.reason = reason;
+        }
+
+        public String getReason(){
+            return reason;
+        }
+    }
+
+    public Report run(Scenario scenario, Target target) throws InterruptedException {
+        UserIdSampler sampler = new UserIdSampler(scenario);
+        Tally tally = new Tally(scenario.users());
+        //워밍업 구간은 지연 시간을 기록하지 않지만 잔액 검증에는 포함
+        execute(scenario, target, sampler, tally, scenario.warmupOperations(), scenario.seed() ^ 0x5DEECE66DL);
+
+        long start = System.nanoTime();
+        List<Worker> workers = execute(scenario, target, sampler, tally, scenario.operations(), scenario.seed());
+        long elapsedNanos = System.nanoTime() - start;
+        return new Report(scenario, tally, workers, elapsedNanos);
+    }
+
+    private List<Worker> execute(Scenario scenario, Target target, UserIdSampler sampler, Tally tally,
+                                 int operations, long seed) throws InterruptedException {
+        List<Worker> workers = new ArrayList<>();
+        CountDownLatch ready = new CountDownLatch(scenario.threads());
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(scenario.threads());
+        for(int i = 0; i < scenario.threads(); i++){
+            int count = operations / scenario.threads() + (i < operations % scenario.threads() ? 1 : 0);
+            Worker worker = new Worker(scenario, target, sampler, tally, count, new SplittableRandom(seed + i));
+            workers.add(worker);
+            Thread thread = new Thread(() -> {
+                ready.countDown();
+                try{
+                    go.await();
+                    worker.run();
+                }catch (InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }finally {
+                    done.countDown();
+                }
+            }, "point-load-" + i);
+            thread.start();
+        }
+        //모든 스레드가 준비된 뒤 동시에 시작
+        ready.await();
+        go.countDown();
+        done.await();
+        return workers;
+    }
+
+    //스레드 하나가 실행하는 요청 묶음 (히스토그램은 스레드별로 기록하고 끝난 뒤 합침)
+    private static final class Worker {
+        private final Scenario scenario;
+        private final Target target;
+        private final UserIdSampler sampler;
+        private final Tally tally;
+        private final int count;
+        private final SplittableRandom random;
+        private final Histogram[] latencies = new Histogram[Operation.values().length];
+        private final long[] requests = new long[Operation.values().length];
+        private final Map<String, Long> rejections = new TreeMap<>();
+        private final Map<String, Long> errors = new TreeMap<>();
+        private RuntimeException firstError;
+
+        private Worker(Scenario scenario, Target target, UserIdSampler sampler, Tally tally, int count, SplittableRandom random){
+            this.scenario = scenario;
+            this.target = target;
+            this.sampler = sampler;
+            this.tally = tally;
+            this.count = count;
+            this.random = random;
+            for(int i = 0; i < latencies.length; i++){
+                latencies[i] = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            }
+        }
+
+        private void run(){
+            for(int i = 0; i < count; i++){
+                long userId = sampler.next(random);
+                Operation operation = nextOperation();
+                long amount = switch (operation){
+                    case READ -> 0;
+                    case CHARGE -> CHARGE_AMOUNTS[random.nextInt(CHARGE_AMOUNTS.length)];
+                    case USE -> USE_AMOUNTS[random.nextInt(USE_AMOUNTS.length)];
+                };
+
+                long start = System.nanoTime();
+                String rejection = null;
+                try{
+                    switch (operation){
+                        case READ -> target.read(userId);
+                        case CHARGE -> target.charge(userId, amount);
+                        case USE -> target.use(userId, amount);
+                    }
+                }catch (Rejected e){
+                    rejection = e.getReason();
+                }catch (IllegalArgumentException | IllegalStateException e){
+                    rejection = PointRejectReason.of(e).getTag();
+                }catch (RuntimeException e){
+                    errors.merge(operation + ":" + e.getClass().getSimpleName(), 1L, Long::sum);
+                    if(firstError == null){
+                        firstError = e;
+                    }
+                    continue;
+                }
+                latencies[operation.ordinal()].recordValue(Math.min(System.nanoTime() - start, HIGHEST_TRACKABLE_NANOS));
+                requests[operation.ordinal()]++;
+
+                if(rejection != null){
+                    rejections.merge(operation + ":" + rejection, 1L, Long::sum);
+                }else if(operation != Operation.READ){
+                    tally.recordWrite(userId, operation, amount);
+                }
+            }
+        }
+
+        private Operation nextOperation(){
+            if(random.nextDouble() < scenario.readRatio()){
+                return Operation.READ;
+            }
+            return random.nextDouble() < scenario.useRatio() ? Operation.USE : Operation.CHARGE;
+        }
+    }
+
+    //사용자 ID 선택기 (1 ~ users)
+    private static final class UserIdSampler {
+        private final Distribution distribution;
+        private final int users;
+        //ZIPF : k번째 사용자까지의 누적 확률
+        private final double[] cumulative;
+
+        private UserIdSampler(Scenario scenario){
+            this.distribution = scenario.distribution();
+            this.users = scenario.users();
+            if(distribution == Distribution.ZIPF){
+                cumulative = new double[users];
+                double sum = 0;
+                for(int k = 1; k <= users; k++){
+                    sum += 1.0 / Math.pow(k, scenario.zipfExponent());
+                    cumulative[k - 1] = sum;
+                }
+                for(int k = 0; k < users; k++){
+                    cumulative[k] /= sum;
+                }
+            }else{
+                cumulative = null;
+            }
+        }
+
+        private long next(SplittableRandom random){
+            if(distribution == Distribution.UNIFORM){
+                return 1 + random.nextInt(users);
+            }
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return 1 + Math.min(users - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+
+    //성공한 쓰기 집계 (검증용)
+    private static final class Tally {
+        private final AtomicLongArray writesPerUser;
+        private final LongAdder charged = new LongAdder();
+        private final LongAdder used = new LongAdder();
+
+        private Tally(int users){
+            this.writesPerUser = new AtomicLongArray(users + 1);
+        }
+
+        private void recordWrite(long userId, Operation operation, long amount){
+            writesPerUser.incrementAndGet((int) userId);
+            if(operation == Operation.CHARGE){
+                charged.add(amount);
+            }else{
+                used.add(amount);
+            }
+        }
+    }
+
+    public static final class Report {
+        private final Scenario scenario;
+        private final Tally tally;
+        private final long elapsedNanos;
+        private final Histogram[] latencies = new Histogram[Operation.values().length];
+        private final long[] requests = new long[Operation.values().length];
+        private final Map<String, Long> rejections = new TreeMap<>();
+        private final Map<String, Long> errors = new TreeMap<>();
+        private RuntimeException firstError;
+
+        private Report(Scenario scenario, Tally tally, List<Worker> workers, long elapsedNanos){
+            this.scenario = scenario;
+            this.tally = tally;
+            this.elapsedNanos = elapsedNanos;
+            for(int i = 0; i < latencies.length; i++){
+                latencies[i] = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+            }
+            for(Worker worker : workers){
+                for(int i = 0; i < latencies.length; i++){
+                    latencies[i].add(worker.latencies[i]);
+                    requests[i] += worker.requests[i];
+                }
+                worker.rejections.forEach((key, value) -> rejections.merge(key, value, Long::sum));
+                worker.errors.forEach((key, value) -> errors.merge(key, value, Long::sum));
+                if(firstError == null){
+                    firstError = worker.firstError;
+                }
+            }
+        }
+
+        public double getThroughput(){
+            return Arrays.stream(requests).sum() / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        public long getErrorCount(){
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public RuntimeException getFirstError(){
+            return firstError;
+        }
+
+        public Histogram getLatency(Operation operation){
+            return latencies[operation.ordinal()];
+        }
+
+        //처리량과 요청 종류별 지연 시간 요약 (로그와 요약 파일에 남김)
+        public String summary(){
+            StringWriter text = new StringWriter();
+            PrintWriter out = new PrintWriter(text);
+            out.printf("[%s] %.2fs, %.0f req/s%n", scenario.describe(), elapsedNanos / 1_000_000_000.0, getThroughput());
+            for(Operation operation : Operation.values()){
+                Histogram histogram = latencies[operation.ordinal()];
+                long rejected = rejections.entrySet().stream()
+                        .filter(entry -> entry.getKey().startsWith(operation + ":"))
+                        .mapToLong(Map.Entry::getValue).sum();
+                long total = requests[operation.ordinal()];
+                out.printf("  %-6s n=%-8d rejected=%5.2f%%  p50=%8.1fus p99=%8.1fus p999=%8.1fus max=%8.1fus%n",
+                        operation, total, total == 0 ? 0.0 : rejected * 100.0 / total,
+                        micros(histogram.getValueAtPercentile(50)), micros(histogram.getValueAtPercentile(99)),
+                        micros(histogram.getValueAtPercentile(99.9)), micros(histogram.getMaxValue()));
+            }
+            if(!rejections.isEmpty()){
+                out.println("  rejections " + rejections);
+            }
+            if(!errors.isEmpty()){
+                out.println("  errors " + errors);
+            }
+            out.flush();
+            return text.toString();
+        }
+
+        //요약을 prefix-summary.txt, 요청 종류별 분포를 .hgrm 파일로 저장
+        public void write(Path directory, String prefix) throws IOException {
+            writeHistograms(directory, prefix);
+            Files.writeString(directory.resolve(prefix + "-summary.txt"), summary());
+        }
+
+        //요청 종류별 전체 분포를 HdrHistogram 표준 형식(.hgrm, 마이크로초)으로 저장 (HistogramLogAnalyzer 등으로 비교)
+        public void writeHistograms(Path directory, String prefix) throws IOException {
+            Files.createDirectories(directory);
+            for(Operation operation : Operation.values()){
+                Path file = directory.resolve(prefix + "-" + operation.name().toLowerCase() + ".hgrm");
+                try(PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")){
+                    latencies[operation.ordinal()].outputPercentileDistribution(out, 1_000.0);
+                }
+            }
+        }
+
+        /**
+         * 부하가 끝난 뒤 잔액과 내역이 서로 맞는지 검증하고, 어긋난 내용을 반환 (비어 있으면 통과).
+         * - 사용자별 내역 건수 = 성공한 충전/사용 수
+         * - 내역을 ID 순서대로 반영하는 동안 잔액이 0 ~ 최대 포인트를 벗어나지 않고, 최종 값이 현재 잔액과 같음
+         * - 내역 ID는 전체 사용자에 걸쳐 중복되지 않음
+         * - 전체 잔액 합 = 성공한 충전 합 - 성공한 사용 합
+         * 내역을 비동기로 저장하는 경우를 위해 건수가 모자라면 awaitMillis 동안 다시 확인한다.
+         */
+        public List<String> verify(Target target, long awaitMillis) throws InterruptedException {
+            List<String> violations = new ArrayList<>();
+            Set<Long> historyIds = new HashSet<>();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(awaitMillis);
+            long balanceSum = 0;
+            for(int userId = 1; userId <= scenario.users(); userId++){
+                long writes = tally.writesPerUser.get(userId);
+                List<PointHistory> histories = target.histories(userId);
+                while(histories.size() < writes && System.nanoTime() < deadline){
+                    TimeUnit.MILLISECONDS.sleep(10);
+                    histories = target.histories(userId);
+                }
+                long point = target.read(userId).point();
+                balanceSum += point;
+                if(histories.size() != writes){
+                    violations.add("userId=" + userId + " 내역 " + histories.size() + "건, 성공한 쓰기 " + writes + "건");
+                }
+
+                long replayed = 0;
+                List<PointHistory> ordered = new ArrayList<>(histories);
+                ordered.sort(Comparator.comparingLong(PointHistory::id));
+                for(PointHistory history : ordered){
+                    if(!historyIds.add(history.id())){
+                        violations.add("내역 ID 중복 id=" + history.id());
+                    }
+                    replayed += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+                    if(replayed < 0 || replayed > PointPolicy.MAX_POINT){
+                        violations.add("userId=" + userId + " 내역 id=" + history.id() + " 반영 후 잔액 범위 초과 " + replayed);
+                    }
+                }
+                if(replayed != point){
+                    violations.add("userId=" + userId + " 잔액 " + point + ", 내역 반영 결과 " + replayed);
+                }
+            }
+            long expected = tally.charged.sum() - tally.used.sum();
+            if(balanceSum != expected){
+                violations.add("전체 잔액 " + balanceSum + ", 성공한 충전-사용 " + expected);
+            }
+            return violations.size() > MAX_REPORTED_VIOLATIONS
+                    ? violations.subList(0, MAX_REPORTED_VIOLATIONS)
+                    : violations;
+        }
+
+        private static double micros(long nanos){
+            return nanos / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.InstantPointHistoryTable;
+import io.hhplus.tdd.database.InstantUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//PointService를 직접 호출하는 부하/경합 시뮬레이션
+//./gradlew loadSimulation -Pload.distribution=zipf -Pload.threads=64 -Pload.read-ratio=0.8 -Ppoint.write.mode=optimistic
+//- load.tables : instant(지연 없는 대체 테이블, 기본) / throttled(실제 테이블)
+//- 결과 요약(-summary.txt)과 히스토그램(.hgrm)은 build/reports/load 아래에 저장
+@Tag("load")
+public class PointLoadSimulationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointLoadSimulationTest.class);
+
+    private static final int DEFAULT_OPERATIONS = 200_000;
+
+    @Test
+    void testServiceUnderLoad() throws Exception {
+        String mode = System.getProperty("point.write.mode", "locking");
+        for (PointLoadHarness.Scenario scenario : PointLoadHarness.Scenario.fromSystemProperties(DEFAULT_OPERATIONS)) {
+            // Given
+            List<Runnable> shutdownHooks = new ArrayList<>();
+            PointService pointService = createPointService(mode, shutdownHooks);
+
+            try {
+                // When
+                PointLoadHarness.Target target = new ServiceTarget(pointService);
+                PointLoadHarness.Report report = new PointLoadHarness().run(scenario, target);
+                log.info("mode={}\n{}", mode, report.summary());
+                report.write(Path.of("build", "reports", "load"),
+                        "service-" + mode + "-" + scenario.distribution().name().toLowerCase());
+
+                // Then: 예상하지 못한 예외 없이, 잔액과 내역이 서로 맞아야 함
+                assertEquals(0, report.getErrorCount(), () -> String.valueOf(report.getFirstError()));
+                assertEquals(List.of(), report.verify(target, 0));
+            } finally {
+                shutdownHooks.forEach(Runnable::run);
+            }
+        }
+    }
+
+    private PointService createPointService(String mode, List<Runnable> shutdownHooks) {
+        boolean throttled = "throttled".equals(System.getProperty("load.tables", "instant"));
+        UserPointTable userPointTable = throttled ? new UserPointTable() : new InstantUserPointTable();
+        PointHistoryTable pointHistoryTable = throttled ? new PointHistoryTable() : new InstantPointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        PointHistoryJournal historyJournal = new PointHistoryJournal(pointHistoryTable, historyIndex);
+        UserPointCache userPointCache = new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE);
+
+        PointWriteStrategy writeStrategy = switch (mode) {
+            case "batching" -> new PointWriteBatcher(userPointTable, userPointCache, historyJournal, new LockManager(), 64);
+            case "optimistic" -> new OptimisticPointWriter(userPointTable, historyJournal, 100, 1_000);
+            case "mailbox" -> {
+                MailboxPointWriter writer = new MailboxPointWriter(userPointTable, userPointCache, historyJournal, 16, 64);
+                shutdownHooks.add(writer::shutdown);
+                yield writer;
+            }
+            default -> new LockingPointWriter(userPointTable, userPointCache, historyJournal, new LockManager());
+        };
+        return new PointService(writeStrategy, historyIndex);
+    }
+
+    private record ServiceTarget(PointService pointService) implements PointLoadHarness.Target {
+
+        @Override
+        public UserPoint read(long userId) {
+            return pointService.getUserPoint(userId);
+        }
+
+        @Override
+        public UserPoint charge(long userId, long amount) {
+            return pointService.chargePoints(userId, amount);
+        }
+
+        @Override
+        public UserPoint use(long userId, long amount) {
+            return pointService.usePoints(userId, amount);
+        }
+
+        @Override
+        public List<PointHistory> histories(long userId) {
+            List<PointHistory> histories = new ArrayList<>();
+            PointHistoryPage page = pointService.getUserPointHistory(userId, HistoryCursor.after(0), 1_000);
+            histories.addAll(page.items());
+            while (page.hasNext()) {
+                page = pointService.getUserPointHistory(userId, HistoryCursor.decode(page.nextCursor()), 1_000);
+                histories.addAll(page.items());
+            }
+            return histories;
+        }
+    }
+}
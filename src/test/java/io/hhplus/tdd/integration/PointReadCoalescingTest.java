@@ -0,0 +1,83 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//같은 사용자를 동시에 조회하면 테이블 조회가 한 번만 일어나고, 쓰기 이후에는 새 값을 읽는지 검증
+public class PointReadCoalescingTest {
+
+    //selectById 호출 횟수를 세고, 항상 충분히 느리게 응답하는 테이블
+    private static class CountingUserPointTable extends UserPointTable {
+        private final AtomicInteger selectCount = new AtomicInteger();
+
+        @Override
+        public UserPoint selectById(Long id) {
+            selectCount.incrementAndGet();
+            try {
+                TimeUnit.MILLISECONDS.sleep(200);
+            } catch (InterruptedException ignored) {
+            }
+            return super.selectById(id);
+        }
+    }
+
+    private final CountingUserPointTable userPointTable = new CountingUserPointTable();
+    private final PointService pointService = createPointService(userPointTable);
+
+    //캐시를 끄고(max-size 0) 매번 테이블을 읽게 함
+    private static PointService createPointService(UserPointTable userPointTable) {
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        return new PointService(new LockingPointWriter(userPointTable, new UserPointCache(0),
+                new PointHistoryJournal(pointHistoryTable, historyIndex), new LockManager()), historyIndex);
+    }
+
+    @Test
+    void testConcurrentReadsShareOneTableRead() throws InterruptedException {
+        // Given
+        Long id = 1L;
+        pointService.chargePoints(id, 1_000);
+        int readers = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(readers);
+        AtomicInteger wrongResults = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+        int before = userPointTable.selectCount.get();
+
+        // When: 20개 스레드가 동시에 조회
+        for (int i = 0; i < readers; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    if (pointService.getUserPoint(id).point() != 1_000) {
+                        wrongResults.incrementAndGet();
+                    }
+                } catch (InterruptedException ignored) {
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        // Then: 테이블 조회는 한 번, 모두 같은 값
+        assertEquals(1, userPointTable.selectCount.get() - before);
+        assertEquals(0, wrongResults.get());
+
+        // Then: 쓰기가 끝난 뒤의 조회는 새 값을 읽음
+        pointService.usePoints(id, 300);
+        assertEquals(700, pointService.getUserPoint(id).point());
+    }
+}
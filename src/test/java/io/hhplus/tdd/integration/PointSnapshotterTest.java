@@ -0,0 +1,155 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.database.PointSnapshotStore;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//스냅샷 + 이후 내역 재생으로 재시작 후 잔액이 복구되는지 검증
+public class PointSnapshotterTest {
+    private static final long SEGMENT_BYTES = MappedPointHistoryLog.RECORD_BYTES * 1_000L;
+
+    private final Path directory = Files.createTempDirectory("point-snapshot-");
+
+    public PointSnapshotterTest() throws IOException {
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    //스냅샷 이전/이후 내역이 모두 반영된 잔액으로 복구
+    @Test
+    void testRestoreFromSnapshotAndReplay() throws IOException {
+        // Given
+        MappedPointHistoryLog historyLog = openLog();
+        PointSnapshotter snapshotter = openSnapshotter(historyLog, newCache());
+        PointService pointService = openService(historyLog);
+        pointService.chargePoints(1L, 1_000);
+        pointService.usePoints(1L, 300);
+        pointService.chargePoints(2L, 3_000);
+        snapshotter.snapshot();
+        pointService.usePoints(2L, 200);  // 스냅샷 이후 내역
+        historyLog.close();
+
+        // When
+        MappedPointHistoryLog reopened = openLog();
+        UserPointCache restoredCache = newCache();
+        PointSnapshotter restored = openSnapshotter(reopened, restoredCache);
+
+        // Then
+        PointService restoredService = openService(reopened, restoredCache);
+        assertEquals(3L, restored.getLastSnapshotId());
+        assertEquals(700L, restoredService.getUserPoint(1L).point());
+        assertEquals(2_800L, restoredService.getUserPoint(2L).point());
+        reopened.close();
+    }
+
+    //시작할 때는 테이블에 저장하지 않고, 사용자의 다음 저장에서 전체 잔액이 테이블에 반영됨
+    @Test
+    void testRestoredBalanceIsWrittenOnNextSave() throws IOException {
+        // Given
+        MappedPointHistoryLog historyLog = openLog();
+        openSnapshotter(historyLog, newCache());
+        PointService pointService = openService(historyLog);
+        pointService.chargePoints(1L, 1_000);
+        pointService.chargePoints(2L, 3_000);
+        historyLog.close();
+
+        // When
+        MappedPointHistoryLog reopened = openLog();
+        UserPointCache restoredCache = newCache();
+        openSnapshotter(reopened, restoredCache);
+        UserPointTable restoredTable = new UserPointTable();
+        PointService restoredService = openService(reopened, restoredTable, restoredCache);
+
+        // Then: 복구만 하고 테이블에는 아직 없음
+        assertEquals(2, restoredCache.getRestoredCount());
+        assertEquals(0L, restoredTable.selectById(1L).point());
+
+        // When: 한 사용자만 저장
+        restoredService.usePoints(1L, 100);
+
+        // Then: 저장한 사용자는 테이블에 전체 잔액이 들어가고 복구 잔액에서 빠짐
+        assertEquals(900L, restoredTable.selectById(1L).point());
+        assertEquals(900L, restoredService.getUserPoint(1L).point());
+        assertEquals(3_000L, restoredService.getUserPoint(2L).point());
+        assertNull(restoredCache.findRestored(1L));
+        assertEquals(1, restoredCache.getRestoredCount());
+        reopened.close();
+    }
+
+    //최신 스냅샷이 손상되었으면 이전 스냅샷 + 더 많은 내역 재생으로 복구
+    @Test
+    void testFallbackToOlderSnapshot() throws IOException {
+        // Given
+        MappedPointHistoryLog historyLog = openLog();
+        PointSnapshotter snapshotter = openSnapshotter(historyLog, newCache());
+        PointService pointService = openService(historyLog);
+        pointService.chargePoints(1L, 1_000);
+        snapshotter.snapshot();
+        pointService.usePoints(1L, 100);
+        snapshotter.snapshot();
+        historyLog.close();
+        List<Path> snapshots;
+        try (Stream<Path> files = Files.list(directory.resolve("snapshot"))) {
+            snapshots = files.sorted(Comparator.reverseOrder()).toList();
+        }
+        Files.write(snapshots.get(0), new byte[]{1, 2, 3});
+
+        // When
+        MappedPointHistoryLog reopened = openLog();
+        UserPointCache restoredCache = newCache();
+        PointSnapshotter restored = openSnapshotter(reopened, restoredCache);
+
+        // Then
+        assertEquals(1L, restored.getLastSnapshotId());
+        assertEquals(900L, openService(reopened, restoredCache).getUserPoint(1L).point());
+        reopened.close();
+    }
+
+    private MappedPointHistoryLog openLog() {
+        return new MappedPointHistoryLog(directory.resolve("history"), SEGMENT_BYTES, 0);
+    }
+
+    private UserPointCache newCache() {
+        return new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE);
+    }
+
+    private PointSnapshotter openSnapshotter(MappedPointHistoryLog historyLog, UserPointCache userPointCache) {
+        PointSnapshotter snapshotter = new PointSnapshotter(historyLog, userPointCache,
+                new PointSnapshotStore(directory.resolve("snapshot"), 2), 0);
+        snapshotter.restore();
+        return snapshotter;
+    }
+
+    private PointService openService(MappedPointHistoryLog historyLog) {
+        return new PointService(new UserPointTable(), historyLog, new LockManager());
+    }
+
+    private PointService openService(MappedPointHistoryLog historyLog, UserPointCache userPointCache) {
+        return openService(historyLog, new UserPointTable(), userPointCache);
+    }
+
+    private PointService openService(MappedPointHistoryLog historyLog, UserPointTable userPointTable, UserPointCache userPointCache) {
+        PointHistoryIndex historyIndex = new PointHistoryIndex(historyLog);
+        return new PointService(new LockingPointWriter(userPointTable, userPointCache,
+                new PointHistoryJournal(historyLog, historyIndex), new LockManager()), historyIndex);
+    }
+}
@@ -0,0 +1,250 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryTable;
+import io.hhplus.tdd.database.InstantUserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//사용자별 내역 요약이 충전/사용/이체마다 갱신되고, 전체 내역을 다시 계산한 값과 같은지 검증
+public class PointSummaryTest {
+
+    private static final int USERS = 20;
+    private static final int OPERATIONS = 5_000;
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final ConcurrentPointHistoryTable pointHistoryTable = new ConcurrentPointHistoryTable();
+    private final PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+    private final PointSummaryStore summaryStore = new PointSummaryStore(historyIndex);
+    private final PointService pointService = createPointService();
+
+    //동시에 충전/사용/이체해도 사용자마다 요약이 전체 내역을 처음부터 계산한 값과 같고, rebuild 결과도 같음
+    @Test
+    void testSummaryMatchesFullRecomputation() throws InterruptedException {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        Random random = new Random(5);
+        long[] chargeAmounts = {1_000, 5_000, 10_000};
+        long[] useAmounts = {100, 200, 300};
+
+        // When: 거절되는 요청(잔액 부족, 최대 포인트 초과) 포함
+        for (int i = 0; i < OPERATIONS; i++) {
+            long userId = 1 + random.nextInt(USERS);
+            long otherId = 1 + Math.floorMod(userId + random.nextInt(USERS - 1), USERS);
+            int action = random.nextInt(3);
+            long chargeAmount = chargeAmounts[random.nextInt(chargeAmounts.length)];
+            long useAmount = useAmounts[random.nextInt(useAmounts.length)];
+            executor.execute(() -> {
+                try {
+                    switch (action) {
+                        case 0 -> pointService.chargePoints(userId, chargeAmount);
+                        case 1 -> pointService.usePoints(userId, useAmount);
+                        default -> pointService.transfer(userId, otherId, useAmount);
+                    }
+                } catch (IllegalArgumentException e) {
+                    //거절된 요청은 요약에 반영되지 않음
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // Then
+        for (long id = 1; id <= USERS; id++) {
+            PointSummary expected = PointSummaryStore.recompute(id, historyIndex.findAll(id));
+            PointSummary summary = pointService.getUserPointSummary(id);
+            assertEquals(expected, summary);
+            assertEquals(pointService.getUserPoint(id).point(), summary.totalCharged() - summary.totalUsed());
+        }
+        assertEquals(USERS, summaryStore.rebuild());
+        for (long id = 1; id <= USERS; id++) {
+            assertEquals(PointSummaryStore.recompute(id, historyIndex.findAll(id)), summaryStore.get(id));
+        }
+    }
+
+    //거래가 없는 사용자는 빈 요약
+    @Test
+    void testUserWithoutHistoryHasEmptySummary() {
+        assertThrows(IllegalArgumentException.class, () -> pointService.usePoints(1L, 100));
+        assertEquals(PointSummary.empty(1L), pointService.getUserPointSummary(1L));
+    }
+
+    //요약 저장소가 없으면 전체 내역으로 계산한 같은 값을 반환
+    @Test
+    void testSummaryWithoutStoreIsComputedFromHistory() {
+        // Given
+        pointService.chargePoints(1L, 1_000);
+        pointService.usePoints(1L, 300);
+        PointService withoutStore = new PointService(new LockingPointWriter(new InstantUserPointTable(),
+                new UserPointCache(0), new PointHistoryJournal(pointHistoryTable, historyIndex), new LockManager()), historyIndex);
+
+        // When & Then
+        PointSummary summary = withoutStore.getUserPointSummary(1L);
+        assertEquals(pointService.getUserPointSummary(1L), summary);
+        assertEquals(1_000, summary.totalCharged());
+        assertEquals(300, summary.totalUsed());
+        assertEquals(1, summary.chargeCount());
+        assertEquals(1, summary.useCount());
+    }
+
+    //비동기 저널에서는 내역이 저장된 뒤에야 요약에 반영됨
+    @Test
+    void testSummaryIsRecordedAfterHistoryIsSaved() throws InterruptedException {
+        // Given: 저장이 풀어 줄 때까지 멈춰 있는 내역 테이블
+        CountDownLatch release = new CountDownLatch(1);
+        ConcurrentPointHistoryTable blockingTable = new ConcurrentPointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        PointHistoryIndex index = new PointHistoryIndex(blockingTable);
+        PointSummaryStore store = new PointSummaryStore(index);
+        PointHistoryJournal journal = new PointHistoryJournal(blockingTable, index, true, 1, 100, false);
+        journal.setSummaryStore(store);
+
+        try {
+            // When
+            journal.append(1L, 1_000, TransactionType.CHARGE, System.currentTimeMillis());
+
+            // Then: 저장 전에는 요약에 없고, 저장된 뒤에 반영
+            assertEquals(PointSummary.empty(1L), store.get(1L));
+            release.countDown();
+            assertTrue(journal.flush(5, TimeUnit.SECONDS));
+            assertEquals(1_000, store.get(1L).totalCharged());
+            assertEquals(PointSummaryStore.recompute(1L, index.findAll(1L)), store.get(1L));
+        } finally {
+            release.countDown();
+            journal.close();
+        }
+    }
+
+    //쓰기가 계속되는 중에 rebuild해도 그 사이 저장된 내역이 빠지거나 두 번 더해지지 않음
+    @Test
+    void testRebuildDuringWritesKeepsEveryHistory() throws InterruptedException {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When: 충전하는 동안 계속 rebuild
+        for (int i = 0; i < OPERATIONS; i++) {
+            long userId = 1 + i % USERS;
+            executor.execute(() -> pointService.chargePoints(userId, 100));
+        }
+        executor.shutdown();
+        while (!executor.isTerminated()) {
+            summaryStore.rebuild();
+        }
+
+        // Then
+        for (long id = 1; id <= USERS; id++) {
+            PointSummary summary = summaryStore.get(id);
+            assertEquals(PointSummaryStore.recompute(id, historyIndex.findAll(id)), summary);
+            assertEquals(OPERATIONS / USERS, summary.chargeCount());
+        }
+    }
+
+    //rebuild 전에 저장된 내역의 record가 rebuild가 끝난 뒤에 도착해도 한 번만 더해짐
+    @Test
+    void testRecordArrivingAfterRebuildIsNotCountedTwice() {
+        // Given: 저장은 끝났지만 아직 요약에 반영되지 않은 내역
+        PointHistory saved = pointHistoryTable.insert(1L, 1_000, TransactionType.CHARGE, System.currentTimeMillis());
+        historyIndex.append(saved);
+
+        // When
+        summaryStore.rebuild();
+        summaryStore.record(saved);
+
+        // Then
+        assertEquals(1_000, summaryStore.get(1L).totalCharged());
+        assertEquals(1, summaryStore.get(1L).chargeCount());
+    }
+
+    //비동기 저널로 충전이 계속 저장되는 중에 rebuild를 섞어 실행해도 요약이 전체 내역과 같음
+    @Test
+    void testRebuildInterleavedWithAsyncWrites() throws InterruptedException {
+        // Given
+        PointHistoryJournal journal = new PointHistoryJournal(pointHistoryTable, historyIndex, true, 4, 1_000, false);
+        journal.setSummaryStore(summaryStore);
+        PointService service = new PointService(new LockingPointWriter(new InstantUserPointTable(),
+                new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE), journal, new LockManager()), historyIndex);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // When
+            for (int i = 0; i < OPERATIONS; i++) {
+                long userId = 1 + i % USERS;
+                executor.execute(() -> service.chargePoints(userId, 100));
+            }
+            executor.shutdown();
+            while (!executor.isTerminated()) {
+                summaryStore.rebuild();
+            }
+            assertTrue(journal.flush(10, TimeUnit.SECONDS));
+        } finally {
+            journal.close();
+        }
+
+        // Then
+        for (long id = 1; id <= USERS; id++) {
+            PointSummary summary = summaryStore.get(id);
+            assertEquals(PointSummaryStore.recompute(id, historyIndex.findAll(id)), summary);
+            assertEquals(OPERATIONS / USERS, summary.chargeCount());
+        }
+    }
+
+    //일자별 집계는 거래가 있었던 최근 maxDays일만 보관하고, 전체 합계에는 모든 내역이 남음
+    @Test
+    void testDailyBucketsKeepRecentDays() {
+        // Given: UTC 기준 거래가 있었던 최근 2일만 보관
+        PointSummaryStore store = new PointSummaryStore(historyIndex, true, 2, ZoneOffset.UTC);
+        long day0 = LocalDate.of(2024, 1, 1).toEpochDay() * DAY_MILLIS;
+
+        // When
+        store.record(new PointHistory(1, 1L, 1_000, TransactionType.CHARGE, day0));
+        store.record(new PointHistory(2, 1L, 5_000, TransactionType.CHARGE, day0 + DAY_MILLIS));
+        store.record(new PointHistory(3, 1L, 100, TransactionType.USE, day0 + DAY_MILLIS + 1));
+        store.record(new PointHistory(4, 1L, 3_000, TransactionType.CHARGE, day0 + 2 * DAY_MILLIS));
+        store.record(new PointHistory(5, 1L, 200, TransactionType.USE, day0)); //보관 기간보다 오래된 날짜
+
+        // Then
+        PointSummary summary = store.get(1L);
+        assertEquals(9_000, summary.totalCharged());
+        assertEquals(300, summary.totalUsed());
+        assertEquals(3, summary.chargeCount());
+        assertEquals(2, summary.useCount());
+        assertEquals(day0 + 2 * DAY_MILLIS, summary.lastActivityMillis());
+        assertEquals(List.of(
+                new PointSummary.Day(LocalDate.of(2024, 1, 2), 5_000, 100, 1, 1),
+                new PointSummary.Day(LocalDate.of(2024, 1, 3), 3_000, 0, 1, 0)), summary.days());
+
+        // When & Then: 일자별 집계를 끄면 합계만
+        PointSummaryStore totalsOnly = new PointSummaryStore(historyIndex, false, 2, ZoneOffset.UTC);
+        totalsOnly.record(new PointHistory(6, 1L, 1_000, TransactionType.CHARGE, day0));
+        assertEquals(List.of(), totalsOnly.get(1L).days());
+    }
+
+    //지연 없는 테이블, 동기 저널에 요약 저장소 연결
+    private PointService createPointService() {
+        PointHistoryJournal journal = new PointHistoryJournal(pointHistoryTable, historyIndex);
+        journal.setSummaryStore(summaryStore);
+        PointService service = new PointService(new LockingPointWriter(new InstantUserPointTable(),
+                new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE), journal, new LockManager()), historyIndex);
+        service.setSummaryStore(summaryStore);
+        return service;
+    }
+}
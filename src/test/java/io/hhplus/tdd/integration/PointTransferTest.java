@@ -0,0 +1,159 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryTable;
+import io.hhplus.tdd.database.InstantUserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//사용자 간 포인트 이체가 교착 없이 두 사용자에게 함께 반영되는지 검증
+public class PointTransferTest {
+
+    private static final int USERS = 4;
+    private static final long INITIAL_POINT = 30_000;
+    private static final int TRANSFERS = 4_000;
+
+    //적은 사용자끼리 양방향으로 동시에 이체해도 교착 없이 끝나고 전체 포인트가 보존됨 (EVICTING)
+    @Test
+    void testConcurrentCrossTransfersWithEvictingLocks() throws InterruptedException {
+        runCrossTransfers(new LockManager());
+    }
+
+    //락 배열이 작아서 서로 다른 사용자가 같은 락을 나눠 써도 교착 없이 끝남 (STRIPED)
+    @Test
+    void testConcurrentCrossTransfersWithStripedLocks() throws InterruptedException {
+        runCrossTransfers(new LockManager(LockManager.Mode.STRIPED, 2));
+    }
+
+    //거절된 이체는 두 사용자 모두 그대로
+    @Test
+    void testRejectedTransferChangesNothing() {
+        // Given
+        PointService pointService = createPointService(new LockManager());
+        pointService.chargePoints(1L, 200);
+        for (int i = 0; i < 3; i++) {
+            pointService.chargePoints(2L, 30_000);
+        }
+        pointService.chargePoints(2L, 10_000);
+
+        // When & Then: 잔액 부족, 최대 포인트 초과, 자기 자신에게 이체, 허용되지 않는 금액
+        assertThrows(IllegalArgumentException.class, () -> pointService.transfer(1L, 3L, 300));
+        assertThrows(IllegalArgumentException.class, () -> pointService.transfer(1L, 2L, 100));
+        assertThrows(IllegalArgumentException.class, () -> pointService.transfer(1L, 1L, 100));
+        assertThrows(IllegalArgumentException.class, () -> pointService.transfer(1L, 3L, 150));
+        assertEquals(200, pointService.getUserPoint(1L).point());
+        assertEquals(PointPolicy.MAX_POINT, pointService.getUserPoint(2L).point());
+        assertEquals(0, pointService.getUserPoint(3L).point());
+        assertEquals(1, pointService.getUserPointHistory(1L, 0, 10).size());
+    }
+
+    //이체 결과와 내역 (보낸 사용자는 USE, 받은 사용자는 CHARGE, 같은 시각)
+    @Test
+    void testTransferReturnsBothBalancesAndPairedHistory() {
+        // Given
+        PointService pointService = createPointService(new LockManager());
+        pointService.chargePoints(1L, 1_000);
+
+        // When
+        PointTransferResult result = pointService.transfer(1L, 2L, 300);
+
+        // Then
+        assertEquals(700, result.from().point());
+        assertEquals(300, result.to().point());
+        PointHistory sent = pointService.getUserPointHistory(1L, 0, 10).get(0);
+        PointHistory received = pointService.getUserPointHistory(2L, 0, 10).get(0);
+        assertEquals(TransactionType.USE, sent.type());
+        assertEquals(TransactionType.CHARGE, received.type());
+        assertEquals(300, sent.amount());
+        assertEquals(sent.updateMillis(), received.updateMillis());
+    }
+
+    //이체를 지원하지 않는 반영 방식은 금액 검증 전에 이유를 알려주며 거절하고, 잔액은 그대로
+    @Test
+    void testTransferIsRejectedWhenWriteModeDoesNotSupportIt() {
+        // Given: 낙관적 반영 방식
+        ConcurrentPointHistoryTable pointHistoryTable = new ConcurrentPointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        PointService pointService = new PointService(new OptimisticPointWriter(new InstantUserPointTable(),
+                new PointHistoryJournal(pointHistoryTable, historyIndex), 100, 1_000), historyIndex);
+        pointService.chargePoints(1L, 1_000);
+
+        // When & Then
+        assertFalse(pointService.isTransferSupported());
+        assertTrue(createPointService(new LockManager()).isTransferSupported());
+        UnsupportedOperationException exception = assertThrows(UnsupportedOperationException.class,
+                () -> pointService.transfer(1L, 2L, 150));
+        assertEquals(PointService.TRANSFER_NOT_SUPPORTED, exception.getMessage());
+        assertEquals(1_000, pointService.getUserPoint(1L).point());
+        assertEquals(0, pointService.getUserPoint(2L).point());
+    }
+
+    private void runCrossTransfers(LockManager lockManager) throws InterruptedException {
+        // Given
+        PointService pointService = createPointService(lockManager);
+        for (long id = 1; id <= USERS; id++) {
+            pointService.chargePoints(id, INITIAL_POINT);
+        }
+
+        // When: 모든 사용자 쌍 사이에서 양방향으로 이체
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        Random random = new Random(11);
+        for (int i = 0; i < TRANSFERS; i++) {
+            long fromId = 1 + random.nextInt(USERS);
+            long toId = 1 + Math.floorMod(fromId + random.nextInt(USERS - 1), USERS);
+            long amount = 100 * (1 + random.nextInt(3));
+            executor.execute(() -> {
+                try {
+                    pointService.transfer(fromId, toId, amount);
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    //잔액 부족/최대 포인트 초과로 거절된 이체는 반영되지 않음
+                }
+            });
+        }
+        executor.shutdown();
+
+        // Then: 교착 없이 끝나고, 전체 포인트가 보존되고, 사용자마다 내역을 다시 계산한 값이 잔액과 같음
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES), "이체가 끝나지 않음 (교착 의심)");
+        assertTrue(succeeded.get() > 0);
+        long total = 0;
+        int transferHistories = 0;
+        for (long id = 1; id <= USERS; id++) {
+            long point = pointService.getUserPoint(id).point();
+            List<PointHistory> histories = new ArrayList<>();
+            List<PointHistory> page;
+            do {
+                page = pointService.getUserPointHistory(id, histories.size(), PointService.MAX_PAGE_SIZE);
+                histories.addAll(page);
+            } while (page.size() == PointService.MAX_PAGE_SIZE);
+            long replayed = 0;
+            for (PointHistory history : histories) {
+                replayed += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+            }
+            assertEquals(point, replayed);
+            total += point;
+            transferHistories += histories.size() - 1;
+        }
+        assertEquals(INITIAL_POINT * USERS, total);
+        assertEquals(succeeded.get() * 2, transferHistories);
+    }
+
+    //지연 없는 테이블과 동기 저널로 구성
+    private PointService createPointService(LockManager lockManager) {
+        ConcurrentPointHistoryTable pointHistoryTable = new ConcurrentPointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        return new PointService(new LockingPointWriter(new InstantUserPointTable(),
+                new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE),
+                new PointHistoryJournal(pointHistoryTable, historyIndex), lockManager), historyIndex);
+    }
+}
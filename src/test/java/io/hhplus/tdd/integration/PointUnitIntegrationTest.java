@@ -2,12 +2,23 @@ package io.hhplus.tdd.integration;
 
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.HistoryCursor;
+import io.hhplus.tdd.point.HistoryExportFormat;
 import io.hhplus.tdd.point.LockManager;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandResult;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
 import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -17,7 +28,12 @@ import static org.junit.jupiter.api.Assertions.*;
 
 //Service 안의 기능 간 통합 테스트
 public class PointUnitIntegrationTest {
-    private final PointService pointService = new PointService(new UserPointTable(), new PointHistoryTable(), new LockManager());
+    protected final PointService pointService = createPointService();
+
+    //다른 동시성 제어 방식에서도 같은 테스트를 실행할 수 있도록 하위 클래스에서 교체
+    protected PointService createPointService() {
+        return new PointService(new UserPointTable(), new PointHistoryTable(), new LockManager());
+    }
 
     //멀티스레드 동작과 결과 검증
     @Test
@@ -91,6 +107,110 @@ public class PointUnitIntegrationTest {
         }
     }
 
+    //커서 기반 내역 조회가 중복/누락 없이 최신순으로 이어지는지 테스트
+    @Test
+    void testPointHistoryCursorPaging() {
+        // Given: 내역 5건 저장
+        Long id = 3L;
+        for (int i = 0; i < 5; i++) {
+            pointService.chargePoints(id, 1_000);
+        }
+
+        // When: 2건씩 다음 커서를 따라 조회
+        PointHistoryPage first = pointService.getUserPointHistory(id, null, 2);
+        PointHistoryPage second = pointService.getUserPointHistory(id, HistoryCursor.decode(first.nextCursor()), 2);
+        PointHistoryPage last = pointService.getUserPointHistory(id, HistoryCursor.decode(second.nextCursor()), 2);
+
+        // Then: ID 내림차순으로 5건이 모두 한 번씩 조회되고, 마지막 페이지에는 다음 커서가 없음
+        List<PointHistory> all = new ArrayList<>();
+        all.addAll(first.items());
+        all.addAll(second.items());
+        all.addAll(last.items());
+        assertEquals(5, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).id() > all.get(i).id());
+        }
+        assertNull(last.nextCursor());
+
+        // Then: 마지막으로 본 내역 이후에 저장된 내역만 AFTER 커서로 조회됨
+        pointService.chargePoints(id, 1_000);
+        PointHistoryPage newer = pointService.getUserPointHistory(id, HistoryCursor.after(all.get(0).id()), 10);
+        assertEquals(1, newer.items().size());
+    }
+
+    //최대 건수를 넘는 페이지 크기는 거절 (pageSize + 1이 넘쳐서 빈 페이지를 반환하지 않도록)
+    @Test
+    void testPageSizeLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> pointService.getUserPointHistory(1L, null, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                () -> pointService.getUserPointHistory(1L, 0, PointService.MAX_PAGE_SIZE + 1));
+        assertNotNull(pointService.getUserPointHistory(1L, null, PointService.MAX_PAGE_SIZE));
+    }
+
+    //일괄 처리 시 사용자별 순서가 지켜지고 명령마다 결과가 반환되는지 검증
+    @Test
+    void testApplyBulk() {
+        // Given: 사용자 두 명의 명령이 섞여 있음 (사용자 5는 충전 전에 사용 → 실패)
+        List<PointCommand> commands = List.of(
+                new PointCommand(4L, TransactionType.CHARGE, 1_000),
+                new PointCommand(5L, TransactionType.USE, 100),
+                new PointCommand(4L, TransactionType.USE, 200),
+                new PointCommand(5L, TransactionType.CHARGE, 3_000),
+                new PointCommand(4L, TransactionType.CHARGE, 123));
+
+        // When
+        List<PointCommandResult> results = pointService.applyBulk(commands);
+
+        // Then: 명령 순서대로 결과가 반환됨
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).success());
+        assertFalse(results.get(1).success());
+        assertEquals("사용자가 보유한 포인트를 초과해서 사용할 수 없습니다.", results.get(1).reason());
+        assertEquals(800, results.get(2).userPoint().point());
+        assertEquals(3_000, results.get(3).userPoint().point());
+        assertEquals("허용되지 않는 포인트 금액입니다.", results.get(4).reason());
+        assertEquals(800, pointService.getUserPoint(4L).point());
+        assertEquals(3_000, pointService.getUserPoint(5L).point());
+    }
+
+    //최대 건수를 넘는 일괄 요청은 하나도 반영하지 않고 거절
+    @Test
+    void testApplyBulkLimit() {
+        // Given
+        List<PointCommand> commands = Collections.nCopies(PointService.MAX_BULK_COMMANDS + 1,
+                new PointCommand(7L, TransactionType.CHARGE, 1_000));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> pointService.applyBulk(commands));
+        assertEquals(0, pointService.getUserPoint(7L).point());
+    }
+
+    //내역 내보내기가 형식에 맞게 오래된 순으로 한 줄씩 쓰이는지 검증
+    @Test
+    void testExportHistory() throws IOException {
+        // Given
+        Long id = 6L;
+        pointService.chargePoints(id, 1_000);
+        pointService.usePoints(id, 100);
+
+        // When
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        pointService.exportUserPointHistory(id, HistoryExportFormat.NDJSON, ndjson);
+        pointService.exportAllPointHistory(HistoryExportFormat.CSV, csv);
+
+        // Then
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].matches("\\{\"id\":\\d+,\"userId\":6,\"amount\":1000,\"type\":\"CHARGE\",\"updateMillis\":\\d+}"));
+        assertTrue(lines[1].contains("\"type\":\"USE\""));
+        String[] rows = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,userId,amount,type,updateMillis", rows[0]);
+        assertEquals(3, rows.length);
+        assertTrue(rows[2].matches("\\d+,6,100,USE,\\d+"));
+    }
+
     //여러 사용자 동시 작업 검증
     @Test
     void testConcurrentMultipleUsers() throws InterruptedException {
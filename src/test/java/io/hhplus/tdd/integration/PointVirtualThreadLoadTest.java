@@ -0,0 +1,75 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.ConcurrentPointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.LockManager;
+import io.hhplus.tdd.point.PointController;
+import io.hhplus.tdd.point.PointService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//요청 처리 스레드를 플랫폼 스레드 풀(Tomcat 기본 200개)과 가상 스레드로 실행했을 때의 처리량 비교
+//./gradlew loadTest -PjavaVersion=21
+@Tag("load")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class PointVirtualThreadLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointVirtualThreadLoadTest.class);
+
+    private static final int REQUESTS = 5_000;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Test
+    void testVirtualThreadsOutperformPlatformPool() throws InterruptedException {
+        // Given
+        ExecutorService platformPool = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        Executor virtualThreads = new VirtualThreadTaskExecutor("point-load-");
+
+        // When
+        double platformRps = run(platformPool);
+        double virtualRps = run(virtualThreads);
+        platformPool.shutdown();
+
+        // Then
+        log.info("platform({} threads): {} req/s, virtual: {} req/s", PLATFORM_THREADS,
+                String.format("%.1f", platformRps), String.format("%.1f", virtualRps));
+        assertTrue(virtualRps > platformRps);
+    }
+
+    //사용자마다 충전 후 조회하는 요청을 REQUESTS 만큼 실행하고 초당 처리량을 반환
+    //잔액 테이블의 지연(최대 300ms)이 블로킹 I/O 역할을 하고, 내역은 동시 추가에 안전한 저장소에 저장
+    private double run(Executor executor) throws InterruptedException {
+        PointController controller = new PointController(
+                new PointService(new UserPointTable(), new ConcurrentPointHistoryTable(), new LockManager()));
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            long id = i;
+            executor.execute(() -> {
+                try {
+                    controller.charge(id, 1_000, null);
+                    controller.point(id);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.MINUTES), "요청이 시간 안에 끝나지 않음");
+        long elapsedNanos = System.nanoTime() - start;
+        return REQUESTS / (elapsedNanos / 1_000_000_000.0);
+    }
+}
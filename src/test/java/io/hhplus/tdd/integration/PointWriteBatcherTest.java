@@ -0,0 +1,90 @@
+package io.hhplus.tdd.integration;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//그룹 커밋 모드에서 요청별 결과와 최종 잔액 검증
+public class PointWriteBatcherTest {
+    private final UserPointTable userPointTable = new UserPointTable();
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private final LockManager lockManager = new LockManager();
+    private final UserPointCache userPointCache = new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE);
+    private final PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+    private final PointHistoryJournal historyJournal = new PointHistoryJournal(pointHistoryTable, historyIndex);
+    private final PointService pointService = new PointService(
+            new PointWriteBatcher(userPointTable, userPointCache, historyJournal, lockManager, 64), historyIndex);
+
+    //동시에 들어온 충전 요청이 모두 반영되고, 각 요청이 자신의 결과를 받는지 검증
+    @Test
+    void testConcurrentChargesAreCombined() throws Exception {
+        // Given
+        Long id = 1L;
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+
+        // When: 20개의 충전 요청을 동시에 실행
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(executor.submit(() -> pointService.chargePoints(id, 1_000)));
+        }
+
+        // Then: 각 요청의 결과 잔액은 서로 다르고, 최종 잔액은 모든 충전의 합
+        List<Long> balances = new ArrayList<>();
+        for (Future<UserPoint> result : results) {
+            balances.add(result.get(1, TimeUnit.MINUTES).point());
+        }
+        executor.shutdown();
+
+        assertEquals(20, balances.stream().distinct().count());
+        assertEquals(20_000, pointService.getUserPoint(id).point());
+        assertEquals(20, pointHistoryTable.selectAllByUserId(id).size());
+    }
+
+    //같은 배치 안에서도 요청마다 최대 포인트/잔액 규칙이 적용되는지 검증
+    @Test
+    void testRejectionIsPerCommand() throws Exception {
+        // Given: 최대 보유 포인트 근처까지 충전
+        Long id = 2L;
+        for (int i = 0; i < 3; i++) {
+            pointService.chargePoints(id, 30_000);
+        }
+
+        // When: 10,000 충전을 동시에 여러 번 요청 (한 번만 성공 가능)
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(executor.submit(() -> pointService.chargePoints(id, 10_000)));
+        }
+
+        int succeeded = 0;
+        int rejected = 0;
+        for (Future<UserPoint> result : results) {
+            try {
+                result.get(1, TimeUnit.MINUTES);
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertInstanceOfIllegalArgument(e.getCause());
+                rejected++;
+            }
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(1, succeeded);
+        assertEquals(4, rejected);
+        assertEquals(100_000, pointService.getUserPoint(id).point());
+        assertEquals(4, pointHistoryTable.selectAllByUserId(id).size());
+    }
+
+    private void assertInstanceOfIllegalArgument(Throwable cause) {
+        assertTrue(cause instanceof IllegalArgumentException);
+        assertEquals("사용자가 보유할 수 있는 최대 포인트를 초과했습니다.", cause.getMessage());
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.unit;
+
+import io.hhplus.tdd.point.AllowedAmount;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AllowedAmountTest {
+
+    //충전 가능 금액과 사용 가능 금액을 구분해서 검증
+    @Test
+    void testChargeAndUseAmountsAreSeparated() {
+        assertTrue(AllowedAmount.isChargeAllowed(300L));
+        assertTrue(AllowedAmount.isChargeAllowed(30_000L));
+        assertFalse(AllowedAmount.isChargeAllowed(123L));
+
+        assertTrue(AllowedAmount.isUseAllowed(100L));
+        assertTrue(AllowedAmount.isUseAllowed(300L));
+        assertFalse(AllowedAmount.isUseAllowed(1_000L));
+        assertFalse(AllowedAmount.isUseAllowed(600L));
+    }
+
+    //금액 검증 경로에서 객체가 생성되지 않는지 (스레드 할당 바이트) 검증
+    @Test
+    void testValidationDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // Given: JIT 컴파일이 끝나도록 충분히 실행
+        long amounts = validateAll();
+        for (int i = 0; i < 20; i++) {
+            amounts += validateAll();
+        }
+
+        // When: 할당 바이트 측정 자체에 드는 양과 검증 루프의 할당량 비교
+        long overheadStart = threadMXBean.getThreadAllocatedBytes(threadId);
+        long overhead = threadMXBean.getThreadAllocatedBytes(threadId) - overheadStart;
+
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        amounts += validateAll();
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+
+        // Then
+        assertTrue(amounts > 0);
+        assertTrue(allocated <= overhead, "검증 경로에서 " + allocated + " bytes 할당");
+    }
+
+    private long validateAll() {
+        long allowed = 0;
+        for (long amount = 0; amount < 100_000; amount += 50) {
+            if (AllowedAmount.isChargeAllowed(amount)) {
+                allowed++;
+            }
+            if (AllowedAmount.isUseAllowed(amount)) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+}
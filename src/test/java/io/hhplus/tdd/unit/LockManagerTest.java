@@ -0,0 +1,97 @@
+package io.hhplus.tdd.unit;
+
+import io.hhplus.tdd.point.LockManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LockManagerTest {
+
+    //사용 중인 락은 같은 사용자에게 항상 같은 인스턴스로 반환
+    @Test
+    void testSameLockWhileHeld() {
+        // Given
+        LockManager lockManager = new LockManager();
+        ReentrantReadWriteLock lock = lockManager.getLock(1L);
+        lock.writeLock().lock();
+        try {
+            // When
+            System.gc();
+            ReentrantReadWriteLock again = lockManager.getLock(1L);
+
+            // Then
+            assertSame(lock, again);
+            assertEquals(1, lockManager.getContentionCount()); // 잡혀 있는 락을 다시 가져가면 경합으로 집계
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //사용하지 않는 락은 GC 이후 정리되어 락 개수가 사용자 수만큼 늘어나지 않음
+    @Test
+    void testIdleLocksAreEvicted() throws InterruptedException {
+        // Given
+        LockManager lockManager = new LockManager();
+
+        // When: 10만 명의 사용자 락을 만들고 바로 사용 종료
+        for (long id = 0; id < 100_000; id++) {
+            ReentrantReadWriteLock lock = lockManager.getLock(id);
+            lock.readLock().lock();
+            lock.readLock().unlock();
+        }
+
+        // Then
+        for (int i = 0; i < 20 && lockManager.getLiveLockCount() > 1_000; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        assertTrue(lockManager.getLiveLockCount() <= 1_000);
+    }
+
+    //STRIPED 모드는 사용자 수와 관계없이 락 개수가 고정
+    @Test
+    void testStripedModeHasFixedLockCount() {
+        // Given
+        LockManager lockManager = new LockManager(LockManager.Mode.STRIPED, 1000);
+
+        // When
+        for (long id = 0; id < 100_000; id++) {
+            lockManager.getLock(id);
+        }
+
+        // Then
+        assertEquals(1024, lockManager.getLiveLockCount());
+        assertSame(lockManager.getLock(42L), lockManager.getLock(42L));
+    }
+
+    //두 사용자의 락은 어느 쪽을 먼저 넘기든 같은 순서로 반환
+    @Test
+    void testLocksInOrderIsIndependentOfArgumentOrder() {
+        for (LockManager lockManager : List.of(new LockManager(), new LockManager(LockManager.Mode.STRIPED, 1024))) {
+            // When
+            List<ReentrantReadWriteLock> forward = lockManager.getLocksInOrder(1L, 2L);
+            List<ReentrantReadWriteLock> backward = lockManager.getLocksInOrder(2L, 1L);
+
+            // Then
+            assertEquals(2, forward.size());
+            assertSame(forward.get(0), backward.get(0));
+            assertSame(forward.get(1), backward.get(1));
+        }
+    }
+
+    //STRIPED 모드에서 두 사용자가 같은 락을 쓰면 한 번만 잡도록 하나만 반환
+    @Test
+    void testSharedStripeReturnsSingleLock() {
+        // Given: 락이 1개뿐이라 모든 사용자가 같은 락을 씀
+        LockManager lockManager = new LockManager(LockManager.Mode.STRIPED, 1);
+
+        // When
+        List<ReentrantReadWriteLock> locks = lockManager.getLocksInOrder(1L, 2L);
+
+        // Then
+        assertEquals(List.of(lockManager.getLock(1L)), locks);
+    }
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.unit;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointMetricsTest {
+
+    //충전/사용 결과가 성공, 거절 사유별로 집계되고 락/테이블 호출 시간이 기록됨
+    @Test
+    void testTransactionsAndTimersAreRecorded() {
+        // Given
+        MeterRegistry registry = new SimpleMeterRegistry();
+        LockManager lockManager = new LockManager();
+        PointMetrics metrics = new PointMetrics(registry, lockManager);
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointHistoryIndex historyIndex = new PointHistoryIndex(pointHistoryTable);
+        PointHistoryJournal historyJournal = new PointHistoryJournal(pointHistoryTable, historyIndex);
+        LockingPointWriter writer = new LockingPointWriter(new UserPointTable(),
+                new UserPointCache(UserPointCache.DEFAULT_MAX_SIZE), historyJournal, lockManager);
+        writer.setMetrics(metrics);
+        historyJournal.setMetrics(metrics);
+        PointService pointService = new PointService(writer, historyIndex);
+        pointService.setMetrics(metrics);
+
+        // When
+        pointService.chargePoints(1L, 1_000);
+        assertThrows(IllegalArgumentException.class, () -> pointService.chargePoints(1L, 123));
+        assertThrows(IllegalArgumentException.class, () -> pointService.usePoints(2L, 100));
+
+        // Then
+        assertEquals(1.0, registry.get("point.transactions")
+                .tags("type", "CHARGE", "result", "success", "reason", "none").counter().count());
+        assertEquals(1.0, registry.get("point.transactions")
+                .tags("type", "CHARGE", "result", "rejected", "reason", "not_allowed_amount").counter().count());
+        assertEquals(1.0, registry.get("point.transactions")
+                .tags("type", "USE", "result", "rejected", "reason", "insufficient_point").counter().count());
+        assertEquals(2, registry.get("point.lock.wait").tags("mode", "write").timer().count());
+        assertEquals(2, registry.get("point.table.call")
+                .tags("table", "user_point", "operation", "select_by_id").timer().count());
+        assertEquals(1, registry.get("point.table.call")
+                .tags("table", "point_history", "operation", "insert").timer().count());
+    }
+
+    //거절 사유는 메시지가 아니라 예외 타입으로 구분
+    @Test
+    void testRejectReasonIsResolvedFromExceptionType() {
+        assertEquals(PointRejectReason.INSUFFICIENT_POINT,
+                PointRejectReason.of(new PointRejectedException(PointRejectReason.INSUFFICIENT_POINT)));
+        assertEquals(PointRejectReason.CONFLICT, PointRejectReason.of(new PointConflictException()));
+        assertEquals(PointRejectReason.OTHER,
+                PointRejectReason.of(new IllegalArgumentException(PointRejectReason.INSUFFICIENT_POINT.getMessage())));
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +40,12 @@ public class PointServiceTest {
         when(mockLock.readLock()).thenReturn(readLock);
         when(mockLock.writeLock()).thenReturn(writeLock);
         when(mockLockManager.getLock(anyLong())).thenReturn(mockLock);
+
+        //내역 저장 시 테이블처럼 증가하는 ID로 저장된 내역을 반환 (사용자별 내역 인덱스에 반영됨)
+        AtomicLong historyIds = new AtomicLong();
+        when(mockPointHistoryTable.insert(anyLong(), anyLong(), any(TransactionType.class), anyLong()))
+                .thenAnswer(invocation -> new PointHistory(historyIds.incrementAndGet(), invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.getArgument(2), invocation.getArgument(3)));
     }
 
     //포인트 조회
@@ -82,6 +89,39 @@ public class PointServiceTest {
         verify(mockLock.readLock(), times(1)).unlock(); // Read lock 해제 확인
     }
 
+    //캐시된 사용자는 테이블을 다시 조회하지 않음
+    @Test
+    void testGetUserPoint_cached(){
+        //Given
+        Long id = 1L;
+        when(mockTable.selectById(id)).thenReturn(new UserPoint(id, 100, System.currentTimeMillis()));
+
+        //When
+        pointService.getUserPoint(id);
+        UserPoint result = pointService.getUserPoint(id);
+
+        //Then
+        assertEquals(100, result.point());
+        verify(mockTable, times(1)).selectById(id); // 두 번째 조회는 캐시에서 반환
+    }
+
+    //충전 후 조회는 테이블을 읽지 않고 저장된 값을 반환
+    @Test
+    void testChargePoints_writeThrough(){
+        //Given
+        Long id = 1L;
+        when(mockTable.selectById(id)).thenReturn(new UserPoint(id, 5000L, System.currentTimeMillis()));
+        when(mockTable.insertOrUpdate(id, 6000L)).thenReturn(new UserPoint(id, 6000L, System.currentTimeMillis()));
+
+        //When
+        pointService.chargePoints(id, 1000L);
+        UserPoint result = pointService.getUserPoint(id);
+
+        //Then
+        assertEquals(6000L, result.point());
+        verify(mockTable, times(1)).selectById(id); // 충전 시 한 번만 조회
+    }
+
     //포인트 적립
     //허용되는 포인트 충전 검증
     @Test
@@ -212,16 +252,36 @@ public class PointServiceTest {
         //When
         List<PointHistory> result = pointService.getUserPointHistory(id,0,10);
 
-        //Then
+        //Then: 저장 순서의 역순(최신순)으로 반환
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals(chargeHistory,result.get(0));
-        assertEquals(useHistory,result.get(1));
+        assertEquals(useHistory,result.get(0));
+        assertEquals(chargeHistory,result.get(1));
 
         verify(mockPointHistoryTable,times(1)).selectAllByUserId(id);
 
     }
 
+    //한 번 읽어 온 사용자의 내역은 테이블을 다시 조회하지 않고 인덱스에서 페이지를 자름
+    @Test
+    void testGetUserHistory_indexed(){
+        //Given
+        Long id = 1L;
+        when(mockTable.selectById(id)).thenReturn(new UserPoint(id, 0, System.currentTimeMillis()));
+        pointService.getUserPointHistory(id,0,10);
+
+        //When
+        pointService.chargePoints(id, 1000L);
+        pointService.chargePoints(id, 3000L);
+        List<PointHistory> result = pointService.getUserPointHistory(id,0,1);
+        List<PointHistory> nextPage = pointService.getUserPointHistory(id,1,1);
+
+        //Then
+        assertEquals(3000L, result.get(0).amount());
+        assertEquals(1000L, nextPage.get(0).amount());
+        verify(mockPointHistoryTable,times(1)).selectAllByUserId(id);
+    }
+
     //포인트 사용 내역이 없을 때
     @Test
     void testGetPointHistory_noHistory(){
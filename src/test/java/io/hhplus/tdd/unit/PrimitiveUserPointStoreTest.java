@@ -0,0 +1,93 @@
+package io.hhplus.tdd.unit;
+
+import io.hhplus.tdd.database.PrimitiveUserPointStore;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrimitiveUserPointStoreTest {
+
+    //UserPointTable과 같이 없는 사용자는 0포인트, 저장 후에는 마지막 값 반환 (힙/오프힙 모두)
+    @Test
+    void testSameSemanticsAsUserPointTable() {
+        for (boolean offHeap : new boolean[]{false, true}) {
+            // Given
+            PrimitiveUserPointStore store = new PrimitiveUserPointStore(16, offHeap);
+
+            // When
+            UserPoint empty = store.selectById(1L);
+            store.insertOrUpdate(1L, 100L);
+            UserPoint saved = store.insertOrUpdate(1L, 300L);
+
+            // Then
+            assertEquals(0L, empty.point());
+            assertNull(store.find(2L));
+            assertEquals(saved, store.selectById(1L));
+            assertEquals(1, store.size());
+        }
+    }
+
+    //초기 용량보다 많이 넣어도(크기 확장) 삭제해도 나머지 값이 유지됨
+    @Test
+    void testResizeAndRemove() {
+        for (boolean offHeap : new boolean[]{false, true}) {
+            // Given
+            PrimitiveUserPointStore store = new PrimitiveUserPointStore(16, offHeap);
+
+            // When
+            for (long id = 0; id < 10_000; id++) {
+                store.put(id, id * 10, id);
+            }
+            for (long id = 0; id < 10_000; id += 2) {
+                store.remove(id);
+            }
+
+            // Then
+            assertEquals(5_000, store.size());
+            for (long id = 0; id < 10_000; id++) {
+                assertEquals(id % 2 == 0 ? null : new UserPoint(id, id * 10, id), store.find(id));
+            }
+        }
+    }
+
+    //쓰기 도중에 읽어도 point와 updateMillis가 서로 다른 쓰기의 값으로 섞여 보이지 않음
+    @Test
+    void testConcurrentReadersSeeConsistentValues() throws InterruptedException {
+        // Given
+        PrimitiveUserPointStore store = new PrimitiveUserPointStore(16, false);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger torn = new AtomicInteger();
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(() -> {
+                while (running.get()) {
+                    for (long id = 0; id < 100; id++) {
+                        UserPoint userPoint = store.find(id);
+                        if (userPoint != null && userPoint.point() != userPoint.updateMillis()) {
+                            torn.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            readers[i].start();
+        }
+
+        // When: 크기 확장이 일어나도록 사용자를 늘려가며 같은 값을 point/updateMillis에 기록
+        for (long value = 0; value < 2_000; value++) {
+            for (long id = 0; id < 100 + value; id++) {
+                store.put(id, value, value);
+            }
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        // Then
+        assertEquals(0, torn.get());
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+//지연 없이 바로 응답하는 PointHistoryTable 대체 구현 (사용자별로 나눠 두어 처음 조회하는 사용자도 전체를 훑지 않음)
+public class InstantPointHistoryTable extends PointHistoryTable {
+
+    private final ConcurrentHashMap<Long, ConcurrentLinkedQueue<PointHistory>> table = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+        table.computeIfAbsent(userId, key -> new ConcurrentLinkedQueue<>()).add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        ConcurrentLinkedQueue<PointHistory> histories = table.get(userId);
+        return histories == null ? List.of() : List.copyOf(histories);
+    }
+}